@@ -0,0 +1,86 @@
+package org.example.benchmarks;
+
+import org.example.entities.Actor;
+import org.example.enums.RoleEnum;
+import org.example.exceptions.MarketPlaceException;
+import org.example.services.BidService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Bid throughput of BidService.placeBid with 8 bidders hammering the same job, with the in-memory auction engine
+ and with the synchronous write-through path.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(BidServiceBenchmark.BIDDERS)
+public class BidServiceBenchmark {
+    static final int BIDDERS = 8;
+
+    @Param({"true", "false"})
+    public boolean engine;
+
+    MarketPlaceContext context;
+    BidService bidService;
+    Long jobId;
+    Long[] bidderIds = new Long[BIDDERS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = MarketPlaceContext.start(Map.of("auction.engine.enabled", engine));
+        bidService = context.getBean(BidService.class);
+        Actor poster = context.register("poster", RoleEnum.POSTER);
+        for (int i = 0; i < BIDDERS; i++) {
+            bidderIds[i] = context.register("bidder" + i, RoleEnum.BIDDER).getId();
+        }
+        jobId = context.postJob(poster, LocalDateTime.now().plusDays(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Bidder {
+        Long bidderId;
+        double amount = 1_000_000;
+
+        @Setup(Level.Trial)
+        public void setUp(BidServiceBenchmark benchmark, ThreadParams threadParams) {
+            bidderId = benchmark.bidderIds[threadParams.getThreadIndex() % BIDDERS];
+        }
+    }
+
+    @Benchmark
+    public String placeBid(Bidder bidder) {
+        bidder.amount -= 0.01;
+        try {
+            return bidService.placeBid(jobId, bidder.amount, bidder.bidderId);
+        } catch (MarketPlaceException ex) {
+            // Throttled bids are part of the measured behaviour under contention
+            return ex.getMessage();
+        }
+    }
+}
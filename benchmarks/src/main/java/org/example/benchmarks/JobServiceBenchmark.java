@@ -0,0 +1,91 @@
+package org.example.benchmarks;
+
+import org.example.dtos.JobDTO;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.entities.Actor;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.example.enums.RoleEnum;
+import org.example.services.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Job listing reads through JobService, from the query to the DTOs, plus the row to DTO mapping on its own.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobServiceBenchmark {
+    private static final int JOBS = 200;
+
+    MarketPlaceContext context;
+    JobService jobService;
+    Long jobId;
+    String secondPage;
+    List<JobListingDTO> rows = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = MarketPlaceContext.start(Map.of());
+        jobService = context.getBean(JobService.class);
+        Actor poster = context.register("poster", RoleEnum.POSTER);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < JOBS; i++) {
+            jobId = context.postJob(poster, now.plusDays(1).plusMinutes(i));
+            rows.add(new JobListingDTO(jobId, "Benchmark job", "Benchmark requirements", poster.getId(),
+                    now.plusDays(1), now, (double) i));
+        }
+        secondPage = jobService.getJobs(JobSort.RECENT, null, null, null, null, null, 20).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public JobPageDTO getJobsFirstPage() {
+        return jobService.getJobs(JobSort.RECENT, JobStatus.OPEN, null, null, null, null, 20);
+    }
+
+    @Benchmark
+    public JobPageDTO getJobsNextPage() {
+        return jobService.getJobs(JobSort.RECENT, null, null, null, null, secondPage, 20);
+    }
+
+    @Benchmark
+    public List<JobDTO> getRecentJobs() {
+        return jobService.getRecentJobs();
+    }
+
+    @Benchmark
+    public JobDTO getJob() {
+        return jobService.getJob(jobId);
+    }
+
+    @Benchmark
+    public List<JobDTO> mapListingRows() {
+        return rows.stream().map(JobListingDTO::toJobDTO).toList();
+    }
+}
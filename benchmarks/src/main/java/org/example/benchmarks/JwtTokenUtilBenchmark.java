@@ -0,0 +1,56 @@
+package org.example.benchmarks;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.example.entities.Actor;
+import org.example.utils.JwtTokenUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Cost of signing and verifying access tokens. Needs no database, JwtTokenUtil is built directly.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+    JwtTokenUtil jwtTokenUtil;
+    Actor user;
+    List<String> roles;
+    String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secretKey", "benchmark-secret-key");
+        ReflectionTestUtils.setField(jwtTokenUtil, "accessTokenExpiration", 3_600_000L);
+        jwtTokenUtil.init();
+        user = Actor.builder().id(42L).username("bidder").build();
+        roles = List.of("BIDDER");
+        token = jwtTokenUtil.generateAccessToken(user, roles);
+    }
+
+    @Benchmark
+    public DecodedJWT decodeJWT() {
+        return jwtTokenUtil.decodeJWT(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenUtil.generateAccessToken(user, roles);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.benchmarks;
+
+import org.example.MarketPlaceApplication;
+import org.example.dtos.JobDTO;
+import org.example.dtos.LoginDTO;
+import org.example.dtos.UserRegistrationDTO;
+import org.example.entities.Actor;
+import org.example.enums.RoleEnum;
+import org.example.repositories.JobRepository;
+import org.example.repositories.UserRepository;
+import org.example.services.JobService;
+import org.example.services.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ The full application wired against a private in-memory H2 database, with helpers to seed users and jobs through
+ the regular services. Each benchmark trial starts its own context so trials do not share state.
+ **/
+public final class MarketPlaceContext implements AutoCloseable {
+    private static final String PASSWORD = "benchmark-password";
+
+    private final ConfigurableApplicationContext context;
+
+    private MarketPlaceContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     Starts the application on a random port with an empty database.
+     @param overrides properties overriding the benchmark defaults, e.g. auction.engine.enabled
+     @return the running context
+     **/
+    public static MarketPlaceContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("server.port", "0");
+        properties.put("auth.jwt-secret-key", "benchmark-secret-key");
+        properties.put("auth.bcrypt.strength", "4");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+        // Passed as command line arguments, default properties would lose against application.yaml
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MarketPlaceApplication.class)
+                .logStartupInfo(false)
+                .run(args);
+        return new MarketPlaceContext(context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     Registers a user through UserService.
+     @param username the username
+     @param role the role of the user
+     @return the stored user
+     **/
+    public Actor register(String username, RoleEnum role) {
+        getBean(UserService.class).registerNewUser(UserRegistrationDTO.builder()
+                .username(username)
+                .email(username + "@example.org")
+                .password(PASSWORD)
+                .role(role)
+                .build());
+        return getBean(UserRepository.class).findByUsername(username).orElseThrow();
+    }
+
+    /**
+     Logs a user in through UserService.
+     @param username the username
+     @return the access token
+     **/
+    public String login(String username) {
+        return (String) getBean(UserService.class).loginUser(new LoginDTO(username, PASSWORD)).get("access_token");
+    }
+
+    /**
+     Posts a job through JobService.
+     @param poster the poster of the job
+     @param expireAt the expiry time of the auction
+     @return the ID of the job
+     **/
+    public Long postJob(Actor poster, LocalDateTime expireAt) {
+        getBean(JobService.class).postJob(JobDTO.builder()
+                .description("Benchmark job")
+                .requirements("Benchmark requirements")
+                .posterId(poster.getId())
+                .expireAt(expireAt)
+                .build());
+        return getBean(JobRepository.class).findRecentListings(Limit.of(1)).get(0).getJobId();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.benchmarks;
+
+import org.example.entities.Actor;
+import org.example.entities.Bid;
+import org.example.entities.Job;
+import org.example.enums.JobStatus;
+import org.example.enums.RoleEnum;
+import org.example.repositories.BidRepository;
+import org.example.repositories.JobRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Insert throughput of jobs and bids through Hibernate, with JDBC batching off (batchSize 1, what IDENTITY IDs
+ forced) and on (batchSize 50, the production profile), plus the multi-row statement of the bid write-behind.
+ Scores are rows per second. On H2 the gap only shows the saved statement executions, against PostgreSQL it also
+ includes the saved round trips: pass -Djmh.args="PersistenceBenchmark -p url=jdbc:postgresql://... -p username=..." to run there.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    private static final int ROWS = 200;
+
+    @Param({"1", "50"})
+    int batchSize;
+
+    @Param({""})
+    String url;
+
+    @Param({"postgres"})
+    String username;
+
+    MarketPlaceContext context;
+    TransactionTemplate transactionTemplate;
+    JobRepository jobRepository;
+    BidRepository bidRepository;
+    Actor poster;
+    Actor bidder;
+    Job job;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> overrides = new HashMap<>(Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", batchSize,
+                "spring.jpa.properties.hibernate.order_inserts", true));
+        if (!url.isEmpty()) {
+            overrides.put("spring.datasource.url", url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+            overrides.put("spring.datasource.username", username);
+            overrides.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = MarketPlaceContext.start(overrides);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jobRepository = context.getBean(JobRepository.class);
+        bidRepository = context.getBean(BidRepository.class);
+        poster = context.register("poster-" + System.nanoTime(), RoleEnum.POSTER);
+        bidder = context.register("bidder-" + System.nanoTime(), RoleEnum.BIDDER);
+        job = jobRepository.findById(context.postJob(poster, LocalDateTime.now().plusDays(1))).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> jobs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            jobs.add(Job.builder()
+                    .description("Benchmark job")
+                    .requirements("Benchmark requirements")
+                    .poster(poster)
+                    .postedAt(now)
+                    .expireAt(now.plusDays(1))
+                    .bidCount(0.0)
+                    .status(JobStatus.OPEN)
+                    .build());
+        }
+        transactionTemplate.executeWithoutResult(status -> jobRepository.saveAll(jobs));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertBids() {
+        List<Bid> bids = bids();
+        transactionTemplate.executeWithoutResult(status -> bidRepository.saveAll(bids));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertBidsWriteBehind() {
+        List<Bid> bids = bids();
+        transactionTemplate.executeWithoutResult(status -> bidRepository.insertAll(bids));
+    }
+
+    private List<Bid> bids() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Bid> bids = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            bids.add(Bid.builder().amount(1000.0 - i).bidTime(now).job(job).bidder(bidder).build());
+        }
+        return bids;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ Load generator simulating bidders polling the lowest bid of a job, used to compare the platform and virtual thread
+ request modes. Every poller requests /api/bids/{jobId}/lowest, waits for the response and polls again after the poll
+ interval. Pollers are non-blocking, so a single client process can keep 10k of them in flight.
+ <p>
+ Run it against the application started once with the default profile and once with -Pjava21 and
+ --spring.profiles.active=virtual-threads:
+ <pre>
+ mvn -B -f loadtest/pom.xml compile exec:exec@bid-poller -Dloadtest.args="http://localhost:8083 TOKEN JOB_ID 10000 60 1000"
+ </pre>
+ Arguments are the base URL, an access token, the job ID, the number of pollers, the duration in seconds and the
+ poll interval in milliseconds. It prints throughput, error count and latency percentiles.
+ **/
+public class BidPollerBenchmark {
+    private static final int MAX_LATENCY_MS = 60_000;
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final long pollIntervalMs;
+    private final Executor delayed;
+    private final AtomicLongArray latencyCounts = new AtomicLongArray(MAX_LATENCY_MS + 1);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean running = true;
+
+    BidPollerBenchmark(String baseUrl, String token, long jobId, long pollIntervalMs) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/bids/" + jobId + "/lowest"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMillis(MAX_LATENCY_MS))
+                .GET()
+                .build();
+        this.pollIntervalMs = pollIntervalMs;
+        this.delayed = CompletableFuture.delayedExecutor(pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: BidPollerBenchmark <baseUrl> <token> <jobId> [pollers=10000] [seconds=60] [intervalMs=1000]");
+            System.exit(1);
+        }
+        int pollers = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+        long intervalMs = args.length > 5 ? Long.parseLong(args[5]) : 1000;
+
+        BidPollerBenchmark benchmark = new BidPollerBenchmark(args[0], args[1], Long.parseLong(args[2]), intervalMs);
+        benchmark.run(pollers, Duration.ofSeconds(seconds));
+    }
+
+    void run(int pollers, Duration duration) throws InterruptedException {
+        CountDownLatch stopped = new CountDownLatch(pollers);
+        long started = System.nanoTime();
+        for (int i = 0; i < pollers; i++) {
+            // Spread the first polls over one interval so the pollers do not move in lockstep
+            long offsetMs = pollIntervalMs * i / pollers;
+            CompletableFuture.runAsync(() -> poll(stopped), CompletableFuture.delayedExecutor(offsetMs, TimeUnit.MILLISECONDS));
+        }
+        Thread.sleep(duration.toMillis());
+        running = false;
+        stopped.await(MAX_LATENCY_MS, TimeUnit.MILLISECONDS);
+        report(Duration.ofNanos(System.nanoTime() - started), pollers);
+    }
+
+    private void poll(CountDownLatch stopped) {
+        if (!running) {
+            stopped.countDown();
+            return;
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+            record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent));
+            if (ex != null || response.statusCode() != 200) {
+                errors.increment();
+            }
+            CompletableFuture.runAsync(() -> poll(stopped), delayed);
+        });
+    }
+
+    private void record(long latencyMs) {
+        requests.increment();
+        latencyCounts.incrementAndGet((int) Math.min(latencyMs, MAX_LATENCY_MS));
+    }
+
+    private void report(Duration elapsed, int pollers) {
+        long total = requests.sum();
+        System.out.printf("pollers=%d elapsed=%ds requests=%d errors=%d throughput=%.1f req/s%n",
+                pollers, elapsed.toSeconds(), total, errors.sum(), total * 1000.0 / elapsed.toMillis());
+        System.out.printf("latency ms: p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                percentile(total, 0.50), percentile(total, 0.90), percentile(total, 0.99),
+                percentile(total, 0.999), percentile(total, 1.0));
+    }
+
+    private long percentile(long total, double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int latencyMs = 0; latencyMs <= MAX_LATENCY_MS; latencyMs++) {
+            seen += latencyCounts.get(latencyMs);
+            if (seen >= rank) {
+                return latencyMs;
+            }
+        }
+        return MAX_LATENCY_MS;
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ Reproduces an auction spike: thousands of bidders hammer one job during its last seconds while pollers read its
+ lowest bid. The job expires while the storm is still running, so the closing edge is exercised as well.
+ <p>
+ Every request is timed into HDR histograms. The run writes one percentile distribution per operation and a
+ per-second throughput curve to target/loadtest. Once the write-behind pipeline has drained, it checks for lost
+ updates: the bid_count aggregate of the job must equal its number of bid rows and the number of bids the server
+ acknowledged. The process exits with status 1 when the check fails.
+ <p>
+ Arguments are key=value pairs: bidders (2000), pollers (500), seconds (20), poll-interval-ms (250), engine (true).
+ **/
+public class BidStorm {
+    private static final String PASSWORD = "load-test-password";
+    private static final long HIGHEST_LATENCY_US = TimeUnit.SECONDS.toMicros(60);
+    private static final Path OUTPUT = Path.of("target", "loadtest");
+
+    private final Recorder bidLatency = new Recorder(HIGHEST_LATENCY_US, 3);
+    private final Recorder pollLatency = new Recorder(HIGHEST_LATENCY_US, 3);
+    private final Histogram bidTotal = new Histogram(HIGHEST_LATENCY_US, 3);
+    private final Histogram pollTotal = new Histogram(HIGHEST_LATENCY_US, 3);
+    private final LongAdder bidsAccepted = new LongAdder();
+    private final LongAdder bidsRejected = new LongAdder();
+    private final LongAdder bidsThrottled = new LongAdder();
+    private final LongAdder bidErrors = new LongAdder();
+    private final LongAdder pollErrors = new LongAdder();
+    private final MarketPlaceClient client;
+    private final Long jobId;
+    private volatile boolean running = true;
+
+    private BidStorm(MarketPlaceClient client, Long jobId) {
+        this.client = client;
+        this.jobId = jobId;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int bidders = Integer.parseInt(options.getOrDefault("bidders", "2000"));
+        int pollers = Integer.parseInt(options.getOrDefault("pollers", "500"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        long pollIntervalMs = Long.parseLong(options.getOrDefault("poll-interval-ms", "250"));
+        String engine = options.getOrDefault("engine", "true");
+
+        boolean consistent;
+        try (EmbeddedMarketPlace marketPlace = EmbeddedMarketPlace.start(Map.of("auction.engine.enabled", engine))) {
+            MarketPlaceClient client = new MarketPlaceClient(marketPlace.getBaseUrl());
+            System.out.printf("Registering %d bidders against %s%n", bidders, marketPlace.getBaseUrl());
+            MarketPlaceClient.Session poster = createUser(client, "poster", "POSTER");
+            List<MarketPlaceClient.Session> sessions = createBidders(client, bidders);
+
+            // The job expires two seconds before the storm ends, bids keep arriving while it closes
+            LocalDateTime expireAt = LocalDateTime.now().plusSeconds(Math.max(1, seconds - 2));
+            Long jobId = client.postJob(poster, "Bid storm " + System.currentTimeMillis(), expireAt);
+            System.out.printf("Storm on job %d: %d bidders, %d pollers, %d s, engine=%s%n",
+                    jobId, bidders, pollers, seconds, engine);
+
+            BidStorm storm = new BidStorm(client, jobId);
+            storm.run(sessions, pollers, seconds, pollIntervalMs);
+
+            marketPlace.flushBids();
+            consistent = storm.checkLostUpdates(marketPlace);
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private static MarketPlaceClient.Session createUser(MarketPlaceClient client, String username, String role)
+            throws IOException, InterruptedException {
+        // Registration and login hash passwords on a bounded pool that sheds load, retry when it does
+        for (int attempt = 1; ; attempt++) {
+            try {
+                client.register(username, PASSWORD, role);
+                return client.login(username, PASSWORD);
+            } catch (IllegalStateException ex) {
+                if (attempt == 5 || !ex.getMessage().contains(" 503")) {
+                    throw ex;
+                }
+                Thread.sleep(100L * attempt);
+            }
+        }
+    }
+
+    private static List<MarketPlaceClient.Session> createBidders(MarketPlaceClient client, int bidders) throws Exception {
+        ExecutorService setup = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<MarketPlaceClient.Session>> futures = new ArrayList<>();
+            for (int i = 0; i < bidders; i++) {
+                String username = "bidder" + i;
+                futures.add(setup.submit(() -> createUser(client, username, "BIDDER")));
+            }
+            List<MarketPlaceClient.Session> sessions = new ArrayList<>();
+            for (Future<MarketPlaceClient.Session> future : futures) {
+                sessions.add(future.get());
+            }
+            return sessions;
+        } finally {
+            setup.shutdown();
+        }
+    }
+
+    private void run(List<MarketPlaceClient.Session> bidders, int pollers, int seconds, long pollIntervalMs)
+            throws IOException, InterruptedException {
+        Files.createDirectories(OUTPUT);
+        CountDownLatch stopped = new CountDownLatch(bidders.size() + pollers);
+        for (int i = 0; i < bidders.size(); i++) {
+            bid(bidders.get(i), 1_000_000.0 + i, stopped);
+        }
+        for (int i = 0; i < pollers; i++) {
+            MarketPlaceClient.Session session = bidders.get(i % bidders.size());
+            long offsetMs = pollIntervalMs * i / pollers;
+            CompletableFuture.runAsync(() -> poll(session, pollIntervalMs, stopped),
+                    CompletableFuture.delayedExecutor(offsetMs, TimeUnit.MILLISECONDS));
+        }
+
+        try (PrintStream curve = new PrintStream(OUTPUT.resolve("throughput.csv").toFile())) {
+            curve.println("second,bids_per_s,bid_p50_ms,bid_p99_ms,polls_per_s,poll_p99_ms,bid_errors");
+            long errorsBefore = 0;
+            for (int second = 1; second <= seconds; second++) {
+                Thread.sleep(1000);
+                Histogram bids = bidLatency.getIntervalHistogram();
+                Histogram polls = pollLatency.getIntervalHistogram();
+                bidTotal.add(bids);
+                pollTotal.add(polls);
+                long errors = bidErrors.sum();
+                String line = String.format("%d,%d,%.2f,%.2f,%d,%.2f,%d", second, bids.getTotalCount(),
+                        bids.getValueAtPercentile(50) / 1000.0, bids.getValueAtPercentile(99) / 1000.0,
+                        polls.getTotalCount(), polls.getValueAtPercentile(99) / 1000.0, errors - errorsBefore);
+                errorsBefore = errors;
+                curve.println(line);
+                System.out.println(line);
+            }
+        }
+        running = false;
+        stopped.await(60, TimeUnit.SECONDS);
+        bidTotal.add(bidLatency.getIntervalHistogram());
+        pollTotal.add(pollLatency.getIntervalHistogram());
+        report();
+    }
+
+    private void bid(MarketPlaceClient.Session bidder, double amount, CountDownLatch stopped) {
+        if (!running) {
+            stopped.countDown();
+            return;
+        }
+        long sent = System.nanoTime();
+        client.placeBid(bidder, jobId, amount).whenComplete((response, ex) -> {
+            bidLatency.recordValue(Math.min(HIGHEST_LATENCY_US, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent)));
+            count(response, ex);
+            bid(bidder, amount - 0.01, stopped);
+        });
+    }
+
+    private void count(HttpResponse<Void> response, Throwable ex) {
+        if (ex != null) {
+            bidErrors.increment();
+        } else if (response.statusCode() == 200) {
+            bidsAccepted.increment();
+        } else if (response.statusCode() == 400) {
+            // The auction expired while the storm kept going
+            bidsRejected.increment();
+        } else if (response.statusCode() == 503) {
+            bidsThrottled.increment();
+        } else {
+            bidErrors.increment();
+        }
+    }
+
+    private void poll(MarketPlaceClient.Session session, long pollIntervalMs, CountDownLatch stopped) {
+        if (!running) {
+            stopped.countDown();
+            return;
+        }
+        long sent = System.nanoTime();
+        client.getLowestBid(session, jobId).whenComplete((response, ex) -> {
+            pollLatency.recordValue(Math.min(HIGHEST_LATENCY_US, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent)));
+            if (ex != null || response.statusCode() != 200) {
+                pollErrors.increment();
+            }
+            CompletableFuture.runAsync(() -> poll(session, pollIntervalMs, stopped),
+                    CompletableFuture.delayedExecutor(pollIntervalMs, TimeUnit.MILLISECONDS));
+        });
+    }
+
+    private void report() throws IOException {
+        try (PrintStream out = new PrintStream(OUTPUT.resolve("place-bid.hgrm").toFile())) {
+            bidTotal.outputPercentileDistribution(out, 1000.0);
+        }
+        try (PrintStream out = new PrintStream(OUTPUT.resolve("lowest-bid.hgrm").toFile())) {
+            pollTotal.outputPercentileDistribution(out, 1000.0);
+        }
+        System.out.printf("Bids: accepted=%d rejected=%d throttled=%d errors=%d, latency ms p50=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                bidsAccepted.sum(), bidsRejected.sum(), bidsThrottled.sum(), bidErrors.sum(),
+                bidTotal.getValueAtPercentile(50) / 1000.0, bidTotal.getValueAtPercentile(99) / 1000.0,
+                bidTotal.getValueAtPercentile(99.9) / 1000.0, bidTotal.getMaxValue() / 1000.0);
+        System.out.printf("Polls: total=%d errors=%d, latency ms p50=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                pollTotal.getTotalCount(), pollErrors.sum(),
+                pollTotal.getValueAtPercentile(50) / 1000.0, pollTotal.getValueAtPercentile(99) / 1000.0,
+                pollTotal.getValueAtPercentile(99.9) / 1000.0, pollTotal.getMaxValue() / 1000.0);
+    }
+
+    private boolean checkLostUpdates(EmbeddedMarketPlace marketPlace) {
+        long stored = marketPlace.getStoredBidCount(jobId);
+        long rows = marketPlace.countBidRows(jobId);
+        long accepted = bidsAccepted.sum();
+        boolean consistent = stored == rows && rows == accepted;
+        System.out.printf("Lost-update check %s: job.bid_count=%d, bid rows=%d, acknowledged bids=%d%n",
+                consistent ? "PASSED" : "FAILED", stored, rows, accepted);
+        return consistent;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.loadtest;
+
+import org.example.MarketPlaceApplication;
+import org.example.services.BidPersistenceService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ The application running on a random port against a private in-memory H2 database, with direct database access
+ for the consistency checks that run after the load.
+ **/
+public final class EmbeddedMarketPlace implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedMarketPlace(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     Starts the application.
+     @param overrides properties overriding the load test defaults, e.g. auction.engine.enabled
+     @return the running application
+     **/
+    public static EmbeddedMarketPlace start(Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("server.port", "0");
+        properties.put("auth.jwt-secret-key", "load-test-secret-key");
+        properties.put("auth.bcrypt.strength", "4");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+        // Passed as command line arguments, default properties would lose against application.yaml
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new EmbeddedMarketPlace(new SpringApplicationBuilder(MarketPlaceApplication.class)
+                .logStartupInfo(false)
+                .run(args));
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     Waits until every accepted bid has been written by the write-behind pipeline.
+     **/
+    public void flushBids() {
+        context.getBean(BidPersistenceService.class).flush();
+    }
+
+    /**
+     Reads the bid count aggregate stored on the job row.
+     @param jobId the ID of the job
+     @return the value of job.bid_count
+     **/
+    public long getStoredBidCount(Long jobId) {
+        Double bidCount = jdbc().queryForObject("select bid_count from job where id = ?", Double.class, jobId);
+        return bidCount == null ? 0 : bidCount.longValue();
+    }
+
+    /**
+     Counts the bid rows of a job.
+     @param jobId the ID of the job
+     @return the number of rows in the bid table
+     **/
+    public long countBidRows(Long jobId) {
+        Long rows = jdbc().queryForObject("select count(*) from bid where job_id = ?", Long.class, jobId);
+        return rows == null ? 0 : rows;
+    }
+
+    private JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ HTTP client for the public API flows the load test drives: register, login, post a job, place bids and poll.
+ **/
+public class MarketPlaceClient {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public MarketPlaceClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     A logged in user.
+     @param userId the ID of the user, read from the user_id claim of the token
+     @param token the access token
+     **/
+    public record Session(Long userId, String token) {
+    }
+
+    public void register(String username, String password, String role) throws IOException, InterruptedException {
+        expectOk(send(post("/api/auth/register", null, Map.of("username", username, "password", password,
+                "email", username + "@example.org", "role", role))));
+    }
+
+    public Session login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = expectOk(send(post("/api/auth/login", null,
+                Map.of("username", username, "password", password))));
+        String token = objectMapper.readTree(response.body()).path("access_token").asText();
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+        return new Session(objectMapper.readTree(payload).path("user_id").asLong(), token);
+    }
+
+    /**
+     Posts a job and looks up its ID among the recent jobs.
+     @return the ID of the job
+     **/
+    public Long postJob(Session poster, String description, LocalDateTime expireAt) throws IOException, InterruptedException {
+        expectOk(send(post("/api/jobs/post", poster.token(), Map.of("description", description,
+                "requirements", "Load test", "posterId", poster.userId(), "expireAt", DATE_TIME.format(expireAt)))));
+        HttpResponse<String> recent = expectOk(send(get("/api/jobs/recent", poster.token())));
+        for (JsonNode job : objectMapper.readTree(recent.body())) {
+            if (description.equals(job.path("description").asText())) {
+                return job.path("jobId").asLong();
+            }
+        }
+        throw new IllegalStateException("Posted job not found among the recent jobs");
+    }
+
+    public CompletableFuture<HttpResponse<Void>> placeBid(Session bidder, Long jobId, double amount) {
+        try {
+            return httpClient.sendAsync(post("/api/bids/place", bidder.token(),
+                    Map.of("jobId", jobId, "amount", amount, "bidderId", bidder.userId())),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    public CompletableFuture<HttpResponse<Void>> getLowestBid(Session user, Long jobId) {
+        return httpClient.sendAsync(get("/api/bids/" + jobId + "/lowest", user.token()),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest post(String path, String token, Map<String, Object> body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.request().uri() + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.example.engine.AuctionEngine;
+import org.example.engine.HotJobsLeaderboard;
+import org.example.services.AuctionFeedService;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ Fans job and user changes out to the other application nodes over PostgreSQL LISTEN/NOTIFY on the existing
+ datasource. Changes are coalesced for the coalesce interval and sent as one notification per batch: changed and
+ closed jobs and changed users are dropped from the caches of the other nodes, which reload them from the database,
+ posted jobs are listed on their leaderboards and the number of bids accepted per job is added to their rankings.
+ Bid statistics are never sent as values, a node only knows the bids it wrote itself. Every node
+ numbers its notifications, a node that sees a gap in the numbers of a sender, or that lost its listening
+ connection, drops its caches entirely, reloads the jobs of its auction engine and rebuilds its leaderboard.
+ <p>
+ Disabled by default, set cluster.cache-bus.enabled on every node when running several nodes. The listener holds
+ one connection of the pool. The auction engine still keeps the bids of a job on the node that accepted them, so
+ with the engine enabled the single bids of a job must be routed to one node. Bulk bids span jobs and are written to
+ the rows instead, the engines holding their jobs reload them when the change arrives.
+ **/
+@Log4j2
+@Component
+public class CacheInvalidationBus {
+    static final String CHANNEL = "marketplace_cache";
+    // A NOTIFY payload is limited to 8000 bytes
+    private static final int MAX_CHANGES_PER_MESSAGE = 100;
+
+    private final JobSummaryCache jobSummaryCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final AuctionEngine auctionEngine;
+    private final HotJobsLeaderboard hotJobsLeaderboard;
+    private final AuctionFeedService auctionFeedService;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long coalesceMs;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Long> pendingJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingPostedJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingClosedJobs = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> pendingBids = new ConcurrentHashMap<>();
+    private final Set<String> pendingUsers = ConcurrentHashMap.newKeySet();
+    // Only touched by the listener thread
+    private final Map<String, Long> lastSequences = new HashMap<>();
+    private long sequence;
+    private ScheduledExecutorService publisher;
+    private Thread listener;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(JobSummaryCache jobSummaryCache, UserPrincipalCache userPrincipalCache,
+                                AuctionEngine auctionEngine, HotJobsLeaderboard hotJobsLeaderboard,
+                                AuctionFeedService auctionFeedService, DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${cluster.cache-bus.enabled:false}") boolean enabled,
+                                @Value("${cluster.cache-bus.coalesce-ms:10}") long coalesceMs) {
+        this.jobSummaryCache = jobSummaryCache;
+        this.userPrincipalCache = userPrincipalCache;
+        this.auctionEngine = auctionEngine;
+        this.hotJobsLeaderboard = hotJobsLeaderboard;
+        this.auctionFeedService = auctionFeedService;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.coalesceMs = coalesceMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "cache-bus-publisher"));
+        publisher.scheduleWithFixedDelay(this::flush, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+        listener = new Thread(this::listen, "cache-bus-listener");
+        listener.start();
+        log.info("Cache bus started on node {} with a coalesce interval of {} ms.", nodeId, coalesceMs);
+    }
+
+    /**
+     Checks whether this node runs in a cluster, announcing its changes to the other nodes.
+     @return true if the bus is enabled
+     **/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     Announces that a job changed in a way the other nodes have to reload.
+     @param jobId the ID of the job
+     **/
+    public void publishJobChanged(Long jobId) {
+        if (enabled) {
+            pendingJobs.add(jobId);
+        }
+    }
+
+    /**
+     Announces that a job was posted, so the other nodes list it on their leaderboards.
+     @param jobId the ID of the job
+     **/
+    public void publishJobPosted(Long jobId) {
+        if (enabled) {
+            pendingPostedJobs.add(jobId);
+        }
+    }
+
+    /**
+     Announces bids accepted by this node, so the other nodes count them in their leaderboards.
+     @param jobId the ID of the job
+     @param count the number of bids
+     **/
+    public void publishBids(Long jobId, int count) {
+        if (enabled && count > 0) {
+            pendingBids.merge(jobId, count, Integer::sum);
+        }
+    }
+
+    /**
+     Announces that a job was closed, so the other nodes stop accepting bids for it.
+     @param jobId the ID of the job
+     **/
+    public void publishJobClosed(Long jobId) {
+        if (enabled) {
+            pendingClosedJobs.add(jobId);
+        }
+    }
+
+    /**
+     Announces that the role or the password of a user changed.
+     @param username the username of the user
+     **/
+    public void publishUserChanged(String username) {
+        if (enabled) {
+            pendingUsers.add(username);
+        }
+    }
+
+    private void flush() {
+        try {
+            for (String payload : drain()) {
+                jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> null, CHANNEL, payload);
+                meterRegistry.counter("marketplace.cache.bus.sent").increment();
+            }
+        } catch (RuntimeException ex) {
+            // The receivers see a gap in the sequence numbers and resync
+            log.warn("Failed to publish cache changes.", ex);
+        }
+    }
+
+    /**
+     Takes the pending changes and packs them into numbered messages.
+     @return the JSON payloads to send, in order
+     **/
+    List<String> drain() {
+        List<Message> messages = new ArrayList<>();
+        take(pendingJobs, messages, Message::jobs);
+        take(pendingPostedJobs, messages, Message::postedJobs);
+        take(pendingClosedJobs, messages, Message::closedJobs);
+        take(pendingUsers, messages, Message::users);
+        for (Long jobId : pendingBids.keySet()) {
+            Integer count = pendingBids.remove(jobId);
+            if (count != null) {
+                current(messages).bids().put(jobId, count);
+            }
+        }
+
+        List<String> payloads = new ArrayList<>(messages.size());
+        for (Message pending : messages) {
+            try {
+                payloads.add(objectMapper.writeValueAsString(pending));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Unable to serialize cache changes", ex);
+            }
+        }
+        return payloads;
+    }
+
+    private <T> void take(Set<T> pending, List<Message> messages, Function<Message, List<T>> changes) {
+        for (T change : pending) {
+            if (pending.remove(change)) {
+                changes.apply(current(messages)).add(change);
+            }
+        }
+    }
+
+    // The last message while it has room, a new one otherwise
+    private Message current(List<Message> messages) {
+        Message message = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+        if (message != null && message.size() < MAX_CHANGES_PER_MESSAGE) {
+            return message;
+        }
+        message = new Message(nodeId, ++sequence, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>(), new HashMap<>());
+        messages.add(message);
+        return message;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + CHANNEL);
+                    }
+                    // Whatever was sent while this node was not listening is lost
+                    resync("the listening connection was opened");
+                    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                    while (running) {
+                        PGNotification[] notifications = pgConnection.getNotifications(500);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                receive(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    unlisten(connection);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache bus listener lost its connection, reconnecting.", ex);
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     Stops collecting notifications on a connection going back to the pool. A failure is only logged, so it does
+     not hide the one that ended the listen loop.
+     @param connection the listening connection
+     **/
+    private void unlisten(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Failed to stop listening on the cache bus connection.", ex);
+        }
+    }
+
+    /**
+     Applies a message of another node. A gap in the sequence numbers of the sender triggers a full resync first.
+     @param payload the JSON payload of the notification
+     **/
+    void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring malformed cache bus message.", ex);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+        meterRegistry.counter("marketplace.cache.bus.received").increment();
+        Long last = lastSequences.get(message.node());
+        if (last != null && message.seq() != last + 1) {
+            resync("messages " + (last + 1) + " to " + (message.seq() - 1) + " of node " + message.node() + " were missed");
+        }
+        // Recorded after the resync, which forgets the numbers seen so far
+        lastSequences.put(message.node(), message.seq());
+
+        // Reloaded off the shards of the engine, changes arriving meanwhile are folded into one more reload
+        for (Long jobId : message.jobs()) {
+            auctionEngine.refresh(jobId);
+            jobSummaryCache.invalidate(jobId);
+            auctionFeedService.publish(jobId);
+        }
+        message.postedJobs().forEach(hotJobsLeaderboard::add);
+        for (Long jobId : message.closedJobs()) {
+            auctionEngine.close(jobId);
+            hotJobsLeaderboard.remove(jobId);
+            jobSummaryCache.invalidate(jobId);
+            auctionFeedService.publish(jobId);
+        }
+        message.users().forEach(userPrincipalCache::invalidate);
+        message.bids().forEach(hotJobsLeaderboard::recordBids);
+    }
+
+    /**
+     Catches up with whatever changes were missed: drops the cached jobs and users, reloads the jobs of the auction
+     engine from their rows, whose statistics would otherwise be put back onto the reloaded summaries, and rebuilds
+     the leaderboard from the open jobs.
+     @param reason why changes may have been missed
+     **/
+    private void resync(String reason) {
+        log.info("Resyncing cached jobs and users, {}.", reason);
+        lastSequences.clear();
+        jobSummaryCache.invalidateAll();
+        userPrincipalCache.invalidateAll();
+        auctionEngine.refreshAll();
+        try {
+            hotJobsLeaderboard.rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to rebuild the hot jobs leaderboard.", ex);
+        }
+        meterRegistry.counter("marketplace.cache.bus.resyncs").increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        publisher.shutdown();
+        try {
+            publisher.awaitTermination(1, TimeUnit.SECONDS);
+            flush();
+            listener.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     Batch of changes of one node, numbered in the order it sent them: the IDs of the jobs whose bids or details
+     changed, which the receivers reload, of the jobs posted and closed, the usernames of the changed users, and the
+     number of bids accepted per job.
+     **/
+    record Message(String node, long seq, List<Long> jobs, List<Long> postedJobs, List<Long> closedJobs,
+                   List<String> users, Map<Long, Integer> bids) {
+        int size() {
+            return jobs.size() + postedJobs.size() + closedJobs.size() + users.size() + bids.size();
+        }
+    }
+}
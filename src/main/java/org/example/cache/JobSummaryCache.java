@@ -0,0 +1,134 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.log4j.Log4j2;
+import org.example.dtos.JobSummaryDTO;
+import org.example.engine.AuctionEngine;
+import org.example.engine.AuctionState;
+import org.example.repositories.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ Bounded cache of the bid statistics of jobs, used by the polling endpoints. Entries are evicted by
+ size and after a TTL, and are updated in place when bids are accepted or dropped when a job changes.
+ **/
+@Log4j2
+@Component
+public class JobSummaryCache {
+    private final Cache<Long, JobSummaryDTO> cache;
+    private final JobRepository jobRepository;
+    private final AuctionEngine auctionEngine;
+
+    public JobSummaryCache(JobRepository jobRepository, AuctionEngine auctionEngine,
+                           @Value("${cache.job-summary.maximum-size:100000}") long maximumSize,
+                           @Value("${cache.job-summary.ttl-ms:5000}") long ttlMs) {
+        this.jobRepository = jobRepository;
+        this.auctionEngine = auctionEngine;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     Gets the summary of a job, loading it from the database on a miss.
+     @param jobId the ID of the job
+     @return the job summary, or null if the job does not exist
+     **/
+    public JobSummaryDTO get(Long jobId) {
+        return cache.get(jobId, this::load);
+    }
+
+    /**
+     Gets the summary of a job only if it is cached, for callers that load misses without blocking.
+     @param jobId the ID of the job
+     @return the job summary, or null on a miss
+     **/
+    public JobSummaryDTO getIfPresent(Long jobId) {
+        return cache.getIfPresent(jobId);
+    }
+
+    /**
+     Caches a summary loaded by the caller, with the statistics of bids not flushed yet applied.
+     @param summary the summary read from the database
+     @return the cached summary
+     **/
+    public JobSummaryDTO put(JobSummaryDTO summary) {
+        JobSummaryDTO current = withEngineState(summary);
+        cache.put(current.getJobId(), current);
+        return current;
+    }
+
+    /**
+     Updates the bid statistics of a cached job in place. Older statistics never overwrite newer ones.
+     @param jobId the ID of the job
+     @param lowestBidAmount the lowest bid amount of the job
+     @param bidCount the bid count of the job
+     **/
+    public void updateBidStats(Long jobId, double lowestBidAmount, double bidCount) {
+        cache.asMap().computeIfPresent(jobId, (id, summary) -> summary.getBidCount() > bidCount ? summary
+                : summary.toBuilder().lowestBidAmount(lowestBidAmount).bidCount(bidCount).build());
+    }
+
+    /**
+     Drops a job from the cache so the next read reloads it.
+     @param jobId the ID of the job
+     **/
+    public void invalidate(Long jobId) {
+        cache.invalidate(jobId);
+    }
+
+    /**
+     Drops every job from the cache.
+     **/
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     Gets the hit, miss and eviction statistics of the cache.
+     @return the cache statistics
+     **/
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     Gets the approximate number of cached entries.
+     @return the estimated size
+     **/
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     Logs the cache statistics every minute.
+     **/
+    @Scheduled(fixedRate = 60000)
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("Job summary cache: size={}, hitRate={}, hits={}, misses={}, evictions={}",
+                cache.estimatedSize(), stats.hitRate(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    private JobSummaryDTO load(Long jobId) {
+        return jobRepository.findSummaryById(jobId).map(this::withEngineState).orElse(null);
+    }
+
+    private JobSummaryDTO withEngineState(JobSummaryDTO summary) {
+        // Bids accepted by the engine may not be flushed yet, the engine holds the authoritative statistics
+        AuctionState state = auctionEngine.getState(summary.getJobId());
+        if (state != null) {
+            summary.setLowestBidAmount(state.getLowestBidAmount());
+            summary.setBidCount(state.getBidCount());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.example.entities.Actor;
+import org.example.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ Bounded cache of the users behind authenticated requests, shared by the authorization filter and the
+ user service, along with the IDs of the users verified as bidders. Entries are evicted by size and after
+ a TTL, and must be invalidated whenever the role or the password of a user changes.
+ **/
+@Log4j2
+@Component
+public class UserPrincipalCache {
+    private final Cache<String, Actor> cache;
+    // Bidder IDs mapped to their usernames, so invalidating a username also drops its verification
+    private final Cache<Long, String> bidders;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final long maximumSize;
+    private final boolean preload;
+
+    public UserPrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                              @Value("${cache.user-principal.maximum-size:50000}") long maximumSize,
+                              @Value("${cache.user-principal.ttl-ms:600000}") long ttlMs,
+                              @Value("${cache.user-principal.preload:false}") boolean preload) {
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.preload = preload;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.bidders = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    /**
+     Gets a user by username, loading it from the database on a miss.
+     @param username the username of the user
+     @return the user, or null if no such user exists
+     **/
+    public Actor get(String username) {
+        return cache.get(username, this::load);
+    }
+
+    /**
+     Checks whether a user was verified as a bidder, so placing bids does not look the user up again.
+     @param userId the ID of the user
+     @return true if the user is a verified bidder
+     **/
+    public boolean isBidder(Long userId) {
+        return bidders.getIfPresent(userId) != null;
+    }
+
+    /**
+     Remembers a user loaded from the database as a verified bidder.
+     @param userId the ID of the user
+     @param username the username of the user
+     **/
+    public void putBidder(Long userId, String username) {
+        bidders.put(userId, username);
+    }
+
+    /**
+     Drops a user from the cache so the next lookup reloads it. Call after changing a role or a password.
+     @param username the username of the user
+     **/
+    public void invalidate(String username) {
+        cache.invalidate(username);
+        // Users change rarely, a scan is cheaper than keeping a second index
+        bidders.asMap().values().removeIf(username::equals);
+    }
+
+    /**
+     Drops every user from the cache.
+     **/
+    public void invalidateAll() {
+        cache.invalidateAll();
+        bidders.invalidateAll();
+    }
+
+    /**
+     Gets the hit, miss and eviction statistics of the cache.
+     @return the cache statistics
+     **/
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     Gets the approximate number of cached entries.
+     @return the estimated size
+     **/
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private Actor load(String username) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Actor user = userRepository.findByUsername(username).orElse(null);
+        sample.stop(meterRegistry.timer("marketplace.auth.user.lookup", "found", String.valueOf(user != null)));
+        return user;
+    }
+
+    /**
+     Warms the cache with up to its maximum size of users once the application has started, if enabled.
+     **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!preload) {
+            return;
+        }
+        List<Actor> users = userRepository.findAll(PageRequest.of(0, (int) Math.min(maximumSize, Integer.MAX_VALUE))).getContent();
+        users.forEach(user -> cache.put(user.getUsername(), user));
+        log.info("Preloaded {} users into the user principal cache.", users.size());
+    }
+
+    /**
+     Logs the cache statistics every minute.
+     **/
+    @Scheduled(fixedRate = 60000)
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        log.info("User principal cache: size={}, hitRate={}, hits={}, misses={}, evictions={}",
+                cache.estimatedSize(), stats.hitRate(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ Creates the threads of the executors that block on the database or on sockets. They are virtual threads when
+ spring.threads.virtual.enabled is set and the application runs on Java 21 or later, the same switch that moves
+ request handling and the scheduler onto virtual threads, and platform threads otherwise. CPU-bound pools such as
+ the auction engine shards and the password hashers keep platform threads either way.
+ **/
+@Component
+@Log4j2
+public class BlockingTaskThreads {
+    private final boolean virtual;
+
+    public BlockingTaskThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        log.info("Blocking task executors use {} threads.", virtual ? "virtual" : "platform");
+    }
+
+    /**
+     Checks whether blocking tasks run on virtual threads.
+     @return true if virtual threads are used
+     **/
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     Creates a factory naming its threads with the given prefix followed by an index.
+     @param prefix the prefix of the thread names
+     @return the thread factory
+     **/
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> new Thread(runnable, prefix + threadIndex.getAndIncrement());
+    }
+}
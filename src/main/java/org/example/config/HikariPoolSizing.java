@@ -0,0 +1,40 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ Sizes the connection pool from the core count of the host with the production profile: connections-per-core
+ connections per available core plus a fixed number of spare connections for I/O waits. An explicit
+ spring.datasource.hikari.maximum-pool-size, e.g. from the virtual-threads profile, always wins.
+ **/
+@Component
+@Profile("production")
+@Log4j2
+public class HikariPoolSizing implements BeanPostProcessor {
+    private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    private final Environment environment;
+
+    public HikariPoolSizing(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+            int connectionsPerCore = environment.getProperty("db.pool.connections-per-core", Integer.class, 2);
+            int spare = environment.getProperty("db.pool.spare-connections", Integer.class, 1);
+            int size = Runtime.getRuntime().availableProcessors() * connectionsPerCore + spare;
+            // The pool starts on the first connection request, so it can still be resized here
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+            log.info("Connection pool sized to {} connections.", size);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ Moves the ID sequences past the IDs already stored, for databases whose tables were created with IDENTITY
+ columns before the entities switched to pooled sequences. Runs once the entity manager factory has created
+ missing sequences and before the application serves requests. Only needed on PostgreSQL, other databases
+ are only used with schemas created from scratch.
+ **/
+@Component
+@Log4j2
+public class IdSequenceAlignment {
+    private static final Map<String, String> SEQUENCES = Map.of("actor", "actor_seq", "job", "job_seq", "bid", "bid_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The entity manager factory is injected so the sequences exist before they are aligned
+    public IdSequenceAlignment(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) -> {
+            // setval only moves forward, a pooled block drawn afterwards starts above every stored ID
+            Long value = jdbcTemplate.queryForObject(String.format(
+                    "select setval('%s', greatest((select coalesce(max(id), 0) from %s), (select last_value from %s)))",
+                    sequence, table, sequence), Long.class);
+            log.info("Sequence {} aligned at {}.", sequence, value);
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ Creates the full-text search index of jobs on PostgreSQL: a search_vector column holding the tsvector of the
+ description weighted above the requirements, kept current by a trigger, and a GIN index over it. Nothing here
+ rewrites or locks the table: the column is added without a default, existing jobs are filled in committed
+ batches and the index is built with create index concurrently, so jobs can be posted, bid on and closed
+ meanwhile. Jobs not filled in yet do not match searches. The work only runs while the index is missing or was
+ left invalid by an interrupted build, and an advisory lock lets one node do it while the other nodes start.
+ **/
+@Component
+@Log4j2
+public class JobSearchIndex {
+    private static final long LOCK_KEY = 0x6a6f6273L;
+    private static final String INDEX = "idx_job_search";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    // The entity manager factory is injected so the job table exists before it is indexed
+    public JobSearchIndex(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                          @Value("${job.search.backfill-batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void create() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Job search needs PostgreSQL, not creating the search index on {}.", product);
+            return;
+        }
+        // The lock is held by the session, so every statement has to run on the same connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) this::create);
+    }
+
+    private Void create(Connection connection) throws SQLException {
+        // Concurrent index builds cannot run inside a transaction, and each backfill batch commits on its own
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            if (!queryBoolean(statement, "select pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+                log.info("Another node is building the job search index.");
+                return null;
+            }
+            try {
+                build(connection, statement);
+            } finally {
+                statement.execute("select pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return null;
+    }
+
+    private void build(Connection connection, Statement statement) throws SQLException {
+        String indexed = "select i.indisvalid from pg_index i join pg_class c on c.oid = i.indexrelid "
+                + "where c.relname = '" + INDEX + "' and c.relnamespace = current_schema()::regnamespace";
+        if (queryBoolean(statement, indexed)) {
+            return;
+        }
+        log.info("Building the job search index.");
+        // Left invalid by an interrupted build
+        statement.execute("drop index concurrently if exists " + INDEX);
+        // The first version of the index used a generated column, which cannot be filled in batches
+        if (queryBoolean(statement, "select is_generated = 'ALWAYS' from information_schema.columns where "
+                + "table_schema = current_schema() and table_name = 'job' and column_name = 'search_vector'")) {
+            statement.execute("drop index concurrently if exists idx_job_search_vector");
+            statement.execute("alter table job drop column search_vector");
+        }
+        statement.execute("alter table job add column if not exists search_vector tsvector");
+        statement.execute("create or replace function job_search_vector() returns trigger language plpgsql as $$ "
+                + "begin new.search_vector := " + document("new.") + "; return new; end $$");
+        if (!queryBoolean(statement, "select true from pg_trigger where tgname = 'job_search_vector' "
+                + "and tgrelid = 'job'::regclass")) {
+            // Bid counts and closing do not touch the text, so only posting and editing jobs pay for it
+            statement.execute("create trigger job_search_vector before insert or update of description, requirements "
+                    + "on job for each row execute function job_search_vector()");
+        }
+        backfill(connection, statement);
+        statement.execute("create index concurrently " + INDEX + " on job using gin (search_vector)");
+        log.info("Job search index ready.");
+    }
+
+    private void backfill(Connection connection, Statement statement) throws SQLException {
+        long first;
+        long last;
+        try (ResultSet range = statement.executeQuery("select min(id), max(id) from job where search_vector is null")) {
+            range.next();
+            first = range.getLong(1);
+            if (range.wasNull()) {
+                return;
+            }
+            last = range.getLong(2);
+        }
+        // Batches by ID range, so each one only locks the rows it fills in
+        long filled = 0;
+        try (PreparedStatement update = connection.prepareStatement("update job set search_vector = "
+                + document("") + " where id >= ? and id < ? and search_vector is null")) {
+            for (long from = first; from <= last; from += batchSize) {
+                update.setLong(1, from);
+                update.setLong(2, from + batchSize);
+                filled += update.executeUpdate();
+            }
+        }
+        log.info("Filled in the search vector of {} jobs.", filled);
+    }
+
+    /**
+     The searched text of a job, the description weighted above the requirements.
+     @param row the prefix of the job columns
+     @return the tsvector expression
+     **/
+    private static String document(String row) {
+        return "setweight(to_tsvector('english', coalesce(" + row + "description, '')), 'A') "
+                + "|| setweight(to_tsvector('english', coalesce(" + row + "requirements, '')), 'B')";
+    }
+
+    private static boolean queryBoolean(Statement statement, String query) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(query)) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ Keeps the bid count updates of jobs, the most frequent write, heap-only (HOT) updates on PostgreSQL: an update
+ that changes no indexed column and fits in the page of the old row version does not touch any index. So no index
+ of open jobs covers bid_count or lowest_bid_amount, databases created before the bid count indexes were removed
+ have them dropped concurrently, and the job table leaves free space in its pages. Schema updates only ever add
+ indexes, which is why the drop happens here. Open jobs are listed by bid count from the leaderboard, closed jobs
+ take no more bids, so a partial index orders them by bid count without costing the updates anything. Only needed
+ on PostgreSQL, other databases are only used with schemas created from scratch.
+ **/
+@Component
+@Log4j2
+public class JobTableTuning {
+    private static final List<String> DROPPED_INDEXES = List.of("idx_job_bid_count_id", "idx_job_status_bid_count_id");
+    private static final String CLOSED_BID_COUNT_INDEX = "idx_job_closed_bid_count_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fillFactor;
+
+    // The entity manager factory is injected so the schema has been updated before it is tuned
+    public JobTableTuning(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                          @Value("${job.table.fill-factor:90}") int fillFactor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fillFactor = fillFactor;
+    }
+
+    @PostConstruct
+    public void tune() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return;
+        }
+        List<String> present = jdbcTemplate.queryForList("select relname from pg_class where relkind = 'i' "
+                + "and relnamespace = current_schema()::regnamespace and relname = any(?)", String.class,
+                (Object) DROPPED_INDEXES.toArray(new String[0]));
+        for (String index : present) {
+            try {
+                // Runs outside a transaction, concurrent drops cannot run inside one
+                jdbcTemplate.execute("drop index concurrently if exists " + index);
+                log.info("Dropped index {}.", index);
+            } catch (DataAccessException ex) {
+                // Another node starting at the same time may be dropping it
+                log.warn("Could not drop index {}.", index, ex);
+            }
+        }
+        createClosedBidCountIndex();
+        String option = "fillfactor=" + fillFactor;
+        List<String> options = jdbcTemplate.queryForList("select unnest(reloptions) from pg_class "
+                + "where relname = 'job' and relnamespace = current_schema()::regnamespace", String.class);
+        if (!options.contains(option)) {
+            // Only changes the catalog, pages written from now on keep the free space
+            jdbcTemplate.execute("alter table job set (" + option + ")");
+            log.info("Job table fill factor set to {}.", fillFactor);
+        }
+    }
+
+    private void createClosedBidCountIndex() {
+        List<Boolean> valid = jdbcTemplate.queryForList("select i.indisvalid from pg_index i "
+                + "join pg_class c on c.oid = i.indexrelid where c.relname = ? "
+                + "and c.relnamespace = current_schema()::regnamespace", Boolean.class, CLOSED_BID_COUNT_INDEX);
+        if (valid.contains(true)) {
+            return;
+        }
+        try {
+            // Left invalid by a concurrent build that failed
+            if (!valid.isEmpty()) {
+                jdbcTemplate.execute("drop index concurrently if exists " + CLOSED_BID_COUNT_INDEX);
+            }
+            jdbcTemplate.execute("create index concurrently if not exists " + CLOSED_BID_COUNT_INDEX
+                    + " on job (bid_count, id) where status = 'CLOSED'");
+            log.info("Created index {}.", CLOSED_BID_COUNT_INDEX);
+        } catch (DataAccessException ex) {
+            // Another node starting at the same time may be building it
+            log.warn("Could not create index {}.", CLOSED_BID_COUNT_INDEX, ex);
+        }
+    }
+}
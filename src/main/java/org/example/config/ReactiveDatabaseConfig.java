@@ -0,0 +1,80 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ R2DBC connection pool used by the reactive profile. R2DBC auto-configuration is turned off in
+ {@link org.example.MarketPlaceApplication}, because it would also register a reactive transaction manager next
+ to the JPA one and fail without an R2DBC URL in the default profile. The JDBC pool is declared here as well:
+ DataSource auto-configuration backs off as soon as an R2DBC connection factory exists, and JPA, the write-behind
+ and the blocking writes still need it.
+ **/
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+@Log4j2
+public class ReactiveDatabaseConfig {
+
+    /**
+     Creates the JDBC pool the way DataSource auto-configuration would, from the spring.datasource properties.
+     @param properties the spring.datasource properties
+     @return the pool, further configured from the spring.datasource.hikari properties
+     **/
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     Creates a small fixed pool of non-blocking connections to the database.
+     @param url the R2DBC URL of the database
+     @param username the database user
+     @param password the database password, may be empty
+     @param maxSize the maximum number of pooled connections
+     @param maxAcquireTimeMs how long a query waits for a free connection before failing
+     @return the pooled connection factory
+     **/
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(@Value("${spring.r2dbc.url}") String url,
+                                            @Value("${spring.r2dbc.username:}") String username,
+                                            @Value("${spring.r2dbc.password:}") String password,
+                                            @Value("${spring.r2dbc.pool.max-size:16}") int maxSize,
+                                            @Value("${spring.r2dbc.pool.max-acquire-time-ms:2000}") long maxAcquireTimeMs) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        log.info("Reactive connection pool configured with at most {} connections.", maxSize);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(Math.min(maxSize, 4))
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
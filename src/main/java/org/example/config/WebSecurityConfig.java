@@ -1,5 +1,6 @@
 package org.example.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.example.exceptions.MarketPlaceException;
@@ -46,6 +47,7 @@ public class WebSecurityConfig {
                             .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // Use stateless session management
                     )
                     .authorizeHttpRequests(authz -> authz
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll() // Streams were authorized on the initial request
                             .requestMatchers("/api/jobs/**", "/api/bids/**").authenticated() // Require authentication for specific endpoints
                             .anyRequest().permitAll() // Allow all other requests without authentication
                     )
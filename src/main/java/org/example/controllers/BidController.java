@@ -2,21 +2,29 @@ package org.example.controllers;
 
 import lombok.AllArgsConstructor;
 import org.example.dtos.BidDTO;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.ProxyBidDTO;
 import org.example.services.BidService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @AllArgsConstructor
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/bids")
 @PreAuthorize("isAuthenticated()")
 public class BidController {
@@ -66,6 +74,17 @@ public class BidController {
         return ResponseEntity.ok().body(bidService.getTimeRemaining(jobId));
     }
 
+    /**
+     Streams live updates of the lowest bid, bid count and time remaining for a specific job as Server-Sent Events
+     @param jobId the ID of the job
+     @return the event stream, completed once the auction closes
+     **/
+    @GetMapping(value = "/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ROLE_POSTER', 'ROLE_BIDDER')")
+    public SseEmitter streamAuction(@PathVariable("jobId") Long jobId) {
+        return bidService.subscribe(jobId);
+    }
+
     /**
      Places a bid on a specific job
      @param bidDTO the bid data transfer object containing job ID, bid amount, and bidder ID
@@ -76,4 +95,38 @@ public class BidController {
     public ResponseEntity<String> placeBid(@RequestBody BidDTO bidDTO) {
         return ResponseEntity.ok().body(bidService.placeBid(bidDTO.getJobId(), bidDTO.getAmount(), bidDTO.getBidderId()));
     }
+
+    /**
+     Places many bids at once, for integration partners
+     @param bidDTOs the bids to place, at most 1000
+     @return the result of each bid in request order
+     **/
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public ResponseEntity<List<BulkItemResultDTO>> placeBids(@RequestBody List<BidDTO> bidDTOs) {
+        return ResponseEntity.ok().body(bidService.placeBids(bidDTOs));
+    }
+
+    /**
+     Registers a proxy bid that undercuts rival bids on a job down to a floor amount
+     @param proxyBidDTO the job, bidder, first amount, floor amount and decrement of the proxy
+     @return a message indicating the success of the registration
+     **/
+    @PostMapping("/proxy")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public ResponseEntity<String> registerProxyBid(@RequestBody ProxyBidDTO proxyBidDTO) {
+        return ResponseEntity.ok().body(bidService.registerProxyBid(proxyBidDTO));
+    }
+
+    /**
+     Cancels the proxy bid of a bidder on a specific job
+     @param jobId the ID of the job
+     @param bidderId the ID of the bidder
+     @return a message indicating the success of the cancellation
+     **/
+    @DeleteMapping("/{jobId}/proxy/{bidderId}")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public ResponseEntity<String> cancelProxyBid(@PathVariable("jobId") Long jobId, @PathVariable("bidderId") Long bidderId) {
+        return ResponseEntity.ok().body(bidService.cancelProxyBid(jobId, bidderId));
+    }
 }
@@ -1,8 +1,15 @@
 package org.example.controllers;
 
 import lombok.AllArgsConstructor;
+import org.example.dtos.BulkItemResultDTO;
 import org.example.dtos.JobDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.enums.JobRanking;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
 import org.example.services.JobService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,17 +17,62 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @AllArgsConstructor
 @RequestMapping("/api/jobs")
 @PreAuthorize("isAuthenticated()")
 public class JobController {
     private final JobService jobService;
 
+    /**
+     Browses jobs page by page. Pass the nextCursor of a response to fetch the following page.
+     @param sort RECENT for the newest jobs first, BIDS for the jobs with the most bids first
+     @param status only jobs with this status
+     @param posterId only jobs of this poster
+     @param expiresAfter only jobs expiring at or after this time
+     @param expiresBefore only jobs expiring before this time
+     @param cursor the continuation token of the previous page
+     @param limit the page size, at most 100
+     @return a page of JobDTOs and the continuation token
+     **/
+    @GetMapping
+    public ResponseEntity<JobPageDTO> getJobs(
+            @RequestParam(value = "sort", defaultValue = "RECENT") JobSort sort,
+            @RequestParam(value = "status", required = false) JobStatus status,
+            @RequestParam(value = "posterId", required = false) Long posterId,
+            @RequestParam(value = "expiresAfter", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime expiresAfter,
+            @RequestParam(value = "expiresBefore", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime expiresBefore,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok().body(jobService.getJobs(sort, status, posterId, expiresAfter, expiresBefore, cursor, limit));
+    }
+
+    /**
+     Searches jobs by the words of their description and requirements, best matches first
+     @param query the search terms, quoted phrases, OR and -excluded terms are supported
+     @param status only jobs with this status
+     @param page the zero-based page number
+     @param limit the page size, at most 100
+     @return a list of JobDTOs representing the matching jobs
+     **/
+    @GetMapping("/search")
+    public ResponseEntity<List<JobDTO>> searchJobs(
+            @RequestParam(value = "query") String query,
+            @RequestParam(value = "status", required = false) JobStatus status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok().body(jobService.searchJobs(query, status, page, limit));
+    }
+
     /**
      Retrieves a list of the most recently posted jobs
      @return a list of JobDTOs representing recent jobs
@@ -31,12 +83,16 @@ public class JobController {
     }
 
     /**
-     Retrieves a list of active jobs, ordered by the number of bids
+     Retrieves a list of active jobs, ordered by the number of bids or by recent bid velocity
+     @param ranking BID_COUNT for the most bids overall, BID_VELOCITY for the most bids in the last window
+     @param limit the number of jobs to return
      @return a list of JobDTOs representing active jobs
      **/
     @GetMapping("/active")
-    public ResponseEntity<List<JobDTO>> getActiveJobs() {
-        return ResponseEntity.ok().body(jobService.getActiveJobs());
+    public ResponseEntity<List<JobDTO>> getActiveJobs(
+            @RequestParam(value = "ranking", defaultValue = "BID_COUNT") JobRanking ranking,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok().body(jobService.getActiveJobs(ranking, limit));
     }
 
     /**
@@ -50,6 +106,17 @@ public class JobController {
         return ResponseEntity.ok().body(jobService.postJob(jobDTO));
     }
 
+    /**
+     Posts many jobs at once, for integration partners
+     @param jobDTOs the jobs to post, at most 1000
+     @return the result of each job in request order, with the ID of every posted job
+     **/
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER')")
+    public ResponseEntity<List<BulkItemResultDTO>> postJobs(@RequestBody List<JobDTO> jobDTOs) {
+        return ResponseEntity.ok().body(jobService.postJobs(jobDTOs));
+    }
+
     /**
      Retrieves the details of a specific job
      @param jobId the ID of the job to retrieve
@@ -0,0 +1,141 @@
+package org.example.controllers;
+
+import lombok.AllArgsConstructor;
+import org.example.dtos.BidDTO;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.ProxyBidDTO;
+import org.example.services.BidService;
+import org.example.services.ReactiveBidService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ Reactive variant of {@link BidController}, replacing it with the reactive profile. Same paths and payloads,
+ the polling endpoints release the request thread while a cache miss is loaded.
+ **/
+@AllArgsConstructor
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/bids")
+@PreAuthorize("isAuthenticated()")
+public class ReactiveBidController {
+    private final ReactiveBidService reactiveBidService;
+    private final BidService bidService;
+
+    /**
+     Retrieves the lowest bid amount for a specific job.
+     @param jobId the ID of the job
+     @return the lowest bid amount
+     **/
+    @GetMapping("/{jobId}/lowest")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER', 'ROLE_BIDDER')")
+    public Mono<ResponseEntity<Double>> getLowestBidAmount(@PathVariable("jobId") Long jobId) {
+        return reactiveBidService.getLowestBidAmount(jobId).map(ResponseEntity::ok);
+    }
+
+    /**
+     Retrieves the total count of bids placed for a specific job
+     @param jobId the ID of the job
+     @return the bid count
+     **/
+    @GetMapping("/{jobId}/count")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER', 'ROLE_BIDDER')")
+    public Mono<ResponseEntity<Double>> getBidCount(@PathVariable("jobId") Long jobId) {
+        return reactiveBidService.getBidCount(jobId).map(ResponseEntity::ok);
+    }
+
+    /**
+     Retrieves the expiration time of the auction for a specific job
+     @param jobId the ID of the job
+     @return the auction expiration time
+     **/
+    @GetMapping("/{jobId}/expiration")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER', 'ROLE_BIDDER')")
+    public Mono<ResponseEntity<LocalDateTime>> getExpiration(@PathVariable("jobId") Long jobId) {
+        return reactiveBidService.getAuctionExpiration(jobId).map(ResponseEntity::ok);
+    }
+
+    /**
+     Retrieves the remaining time until the auction expires for a specific job
+     @param jobId the ID of the job
+     @return the remaining time as a Duration object
+     **/
+    @GetMapping("/{jobId}/time-remaining")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER', 'ROLE_BIDDER')")
+    public Mono<ResponseEntity<Duration>> getTimeRemaining(@PathVariable("jobId") Long jobId) {
+        return reactiveBidService.getTimeRemaining(jobId).map(ResponseEntity::ok);
+    }
+
+    /**
+     Streams live updates of the lowest bid, bid count and time remaining for a specific job as Server-Sent Events
+     @param jobId the ID of the job
+     @return the event stream, completed once the auction closes
+     **/
+    @GetMapping(value = "/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ROLE_POSTER', 'ROLE_BIDDER')")
+    public SseEmitter streamAuction(@PathVariable("jobId") Long jobId) {
+        return bidService.subscribe(jobId);
+    }
+
+    /**
+     Places a bid on a specific job
+     @param bidDTO the bid data transfer object containing job ID, bid amount, and bidder ID
+     @return a message indicating the success of the bid placement
+     **/
+    @PostMapping("/place")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public Mono<ResponseEntity<String>> placeBid(@RequestBody BidDTO bidDTO) {
+        return reactiveBidService.placeBid(bidDTO.getJobId(), bidDTO.getAmount(), bidDTO.getBidderId())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     Places many bids at once, for integration partners
+     @param bidDTOs the bids to place, at most 1000
+     @return the result of each bid in request order
+     **/
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public Mono<ResponseEntity<List<BulkItemResultDTO>>> placeBids(@RequestBody List<BidDTO> bidDTOs) {
+        return reactiveBidService.placeBids(bidDTOs).map(ResponseEntity::ok);
+    }
+
+    /**
+     Registers a proxy bid that undercuts rival bids on a job down to a floor amount
+     @param proxyBidDTO the job, bidder, first amount, floor amount and decrement of the proxy
+     @return a message indicating the success of the registration
+     **/
+    @PostMapping("/proxy")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public Mono<ResponseEntity<String>> registerProxyBid(@RequestBody ProxyBidDTO proxyBidDTO) {
+        return reactiveBidService.registerProxyBid(proxyBidDTO).map(ResponseEntity::ok);
+    }
+
+    /**
+     Cancels the proxy bid of a bidder on a specific job
+     @param jobId the ID of the job
+     @param bidderId the ID of the bidder
+     @return a message indicating the success of the cancellation
+     **/
+    @DeleteMapping("/{jobId}/proxy/{bidderId}")
+    @PreAuthorize("hasAnyRole('ROLE_BIDDER')")
+    public Mono<ResponseEntity<String>> cancelProxyBid(@PathVariable("jobId") Long jobId,
+                                                       @PathVariable("bidderId") Long bidderId) {
+        return reactiveBidService.cancelProxyBid(jobId, bidderId).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.controllers;
+
+import lombok.AllArgsConstructor;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.JobDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.enums.JobRanking;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.example.services.ReactiveJobService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ Reactive variant of {@link JobController}, replacing it with the reactive profile. Same paths and payloads,
+ the request thread is released while the database query runs.
+ **/
+@RestController
+@Profile("reactive")
+@AllArgsConstructor
+@RequestMapping("/api/jobs")
+@PreAuthorize("isAuthenticated()")
+public class ReactiveJobController {
+    private final ReactiveJobService reactiveJobService;
+
+    /**
+     Browses jobs page by page. Pass the nextCursor of a response to fetch the following page.
+     @return a page of JobDTOs and the continuation token
+     **/
+    @GetMapping
+    public Mono<ResponseEntity<JobPageDTO>> getJobs(
+            @RequestParam(value = "sort", defaultValue = "RECENT") JobSort sort,
+            @RequestParam(value = "status", required = false) JobStatus status,
+            @RequestParam(value = "posterId", required = false) Long posterId,
+            @RequestParam(value = "expiresAfter", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime expiresAfter,
+            @RequestParam(value = "expiresBefore", required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime expiresBefore,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return reactiveJobService.getJobs(sort, status, posterId, expiresAfter, expiresBefore, cursor, limit)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     Searches jobs by the words of their description and requirements, best matches first
+     @param query the search terms, quoted phrases, OR and -excluded terms are supported
+     @param status only jobs with this status
+     @param page the zero-based page number
+     @param limit the page size, at most 100
+     @return a list of JobDTOs representing the matching jobs
+     **/
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<JobDTO>>> searchJobs(
+            @RequestParam(value = "query") String query,
+            @RequestParam(value = "status", required = false) JobStatus status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return reactiveJobService.searchJobs(query, status, page, limit).map(ResponseEntity::ok);
+    }
+
+    /**
+     Retrieves a list of the most recently posted jobs
+     @return a list of JobDTOs representing recent jobs
+     **/
+    @GetMapping("/recent")
+    public Mono<ResponseEntity<List<JobDTO>>> getRecentJobs() {
+        return reactiveJobService.getRecentJobs().map(ResponseEntity::ok);
+    }
+
+    /**
+     Retrieves a list of active jobs, ordered by the number of bids or by recent bid velocity
+     @return a list of JobDTOs representing active jobs
+     **/
+    @GetMapping("/active")
+    public Mono<ResponseEntity<List<JobDTO>>> getActiveJobs(
+            @RequestParam(value = "ranking", defaultValue = "BID_COUNT") JobRanking ranking,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return reactiveJobService.getActiveJobs(ranking, limit).map(ResponseEntity::ok);
+    }
+
+    /**
+     Posts a new job on the platform
+     @param jobDTO the job data transfer object containing job details
+     @return a message indicating the success of the job posting
+     **/
+    @PostMapping("/post")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER')")
+    public Mono<ResponseEntity<String>> postJob(@RequestBody JobDTO jobDTO) {
+        return reactiveJobService.postJob(jobDTO).map(ResponseEntity::ok);
+    }
+
+    /**
+     Posts many jobs at once, for integration partners
+     @param jobDTOs the jobs to post, at most 1000
+     @return the result of each job in request order, with the ID of every posted job
+     **/
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ROLE_POSTER')")
+    public Mono<ResponseEntity<List<BulkItemResultDTO>>> postJobs(@RequestBody List<JobDTO> jobDTOs) {
+        return reactiveJobService.postJobs(jobDTOs).map(ResponseEntity::ok);
+    }
+
+    /**
+     Retrieves the details of a specific job
+     @param jobId the ID of the job to retrieve
+     @return a JobDTO containing the job details
+     **/
+    @GetMapping("/{jobId}")
+    public Mono<JobDTO> getJob(@PathVariable("jobId") Long jobId) {
+        return reactiveJobService.getJob(jobId);
+    }
+}
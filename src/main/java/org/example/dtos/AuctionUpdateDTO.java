@@ -0,0 +1,21 @@
+package org.example.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.enums.JobStatus;
+
+import java.time.Duration;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuctionUpdateDTO {
+    private Long jobId;
+    private Double lowestBidAmount;
+    private Double bidCount;
+    private Duration timeRemaining;
+    private JobStatus status;
+}
@@ -0,0 +1,29 @@
+package org.example.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ Result of one item of a bulk request, reported in the order of the request.
+ **/
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDTO {
+    private int index;
+
+    /**
+     ID of the created entity, null if the item failed or created nothing addressable.
+     **/
+    private Long id;
+
+    /**
+     HTTP status the item would have received from the single-item endpoint.
+     **/
+    private int status;
+
+    private String message;
+}
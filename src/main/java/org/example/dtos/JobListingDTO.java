@@ -0,0 +1,36 @@
+package org.example.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ Row of a job listing, selected directly by the repository without loading the Job entity.
+ Carries the sort keys needed to build page cursors on top of the JobDTO columns.
+ **/
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobListingDTO {
+    private Long jobId;
+    private String description;
+    private String requirements;
+    private Long posterId;
+    private LocalDateTime expireAt;
+    private LocalDateTime postedAt;
+    private Double bidCount;
+
+    public JobDTO toJobDTO() {
+        return JobDTO.builder()
+                .jobId(jobId)
+                .description(description)
+                .requirements(requirements)
+                .posterId(posterId)
+                .expireAt(expireAt)
+                .build();
+    }
+}
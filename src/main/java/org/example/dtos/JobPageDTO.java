@@ -0,0 +1,21 @@
+package org.example.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobPageDTO {
+    private List<JobDTO> jobs;
+
+    /**
+     Opaque token for the next page, null on the last page.
+     **/
+    private String nextCursor;
+}
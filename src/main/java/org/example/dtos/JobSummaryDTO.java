@@ -0,0 +1,21 @@
+package org.example.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.enums.JobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobSummaryDTO {
+    private Long jobId;
+    private Double lowestBidAmount;
+    private Double bidCount;
+    private LocalDateTime expireAt;
+    private JobStatus status;
+}
@@ -0,0 +1,37 @@
+package org.example.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProxyBidDTO {
+    @NotNull(message = "jobId required")
+    private Long jobId;
+
+    @NotNull(message = "bidderId required")
+    private Long bidderId;
+
+    /**
+     Amount of the first bid, placed when nobody bid lower yet.
+     **/
+    @NotNull(message = "amount required")
+    private Double amount;
+
+    /**
+     Lowest amount the proxy may bid on behalf of the bidder.
+     **/
+    @NotNull(message = "floorAmount required")
+    private Double floorAmount;
+
+    /**
+     How much a rival bid is undercut by.
+     **/
+    @NotNull(message = "decrement required")
+    private Double decrement;
+}
@@ -0,0 +1,565 @@
+package org.example.engine;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.example.dtos.BidDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.entities.Job;
+import org.example.enums.BidOutcome;
+import org.example.enums.JobStatus;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.JobRepository;
+import org.example.services.BidPersistenceService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ Keeps the best bid and bid count of every open auction in memory. Jobs are sharded across
+ single-threaded executors so each auction has exactly one writer and bids never wait on the database.
+ The shard also resolves the proxy bids of its jobs after every bid, writing only the bids that result.
+ <p>
+ Bids count in memory as soon as they are queued for writing. When the write of a bid fails, the statistics of the
+ job are reloaded from its row without holding up the shard: the write-behind writer reads the row once the bids
+ queued before are written, and the shard then applies it along with the bids it accepted meanwhile.
+ **/
+@Log4j2
+@Component
+public class AuctionEngine {
+    private static final String BID_REJECTED = "Unable to place bid right now, please retry.";
+
+    private final Map<Long, AuctionState> states = new ConcurrentHashMap<>();
+    private final Set<Long> reconciling = ConcurrentHashMap.newKeySet();
+    private final ExecutorService[] shards;
+    private final BidPersistenceService bidPersistenceService;
+    private final JobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long submitTimeoutMs;
+    private final boolean enabled;
+
+    public AuctionEngine(BidPersistenceService bidPersistenceService, JobRepository jobRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${auction.engine.enabled:true}") boolean enabled,
+                         @Value("${auction.engine.shards:0}") int shardCount,
+                         @Value("${auction.engine.queue-capacity:65536}") int queueCapacity,
+                         @Value("${auction.engine.submit-timeout-ms:2000}") long submitTimeoutMs) {
+        this.bidPersistenceService = bidPersistenceService;
+        this.jobRepository = jobRepository;
+        this.eventPublisher = eventPublisher;
+        this.submitTimeoutMs = submitTimeoutMs;
+        this.enabled = enabled;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "auction-shard-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> new Thread(runnable, name));
+        }
+        log.info("Auction engine started with {} shards, {}.", count, enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     Checks whether bids should go through the in-memory engine. When disabled, bids are written
+     synchronously with a conditional update on the job row.
+     @return true if the engine is enabled
+     **/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     Checks whether the engine already holds the state of a job.
+     @param jobId the ID of the job
+     @return true if the job is tracked in memory
+     **/
+    public boolean isTracking(Long jobId) {
+        return states.containsKey(jobId);
+    }
+
+    /**
+     Gets the in-memory state of a tracked job.
+     @param jobId the ID of the job
+     @return the auction state, or null if the job is not tracked
+     **/
+    public AuctionState getState(Long jobId) {
+        return states.get(jobId);
+    }
+
+    /**
+     Gets the number of auctions held in memory.
+     @return the number of tracked jobs
+     **/
+    public int getTrackedCount() {
+        return states.size();
+    }
+
+    /**
+     Starts tracking a job loaded from the database. Closed jobs and jobs already tracked are ignored. The bidder of
+     the lowest bid of a job that has bids is read along with a reload of its row, without waiting for it.
+     @param jobId the ID of the job
+     @param job the persisted job
+     **/
+    public void track(Long jobId, Job job) {
+        if (job.getStatus() == JobStatus.CLOSED) {
+            return;
+        }
+        AuctionState state = new AuctionState(jobId, job.getExpireAt(), job.getStatus(),
+                job.getLowestBidAmount(), job.getBidCount());
+        if (states.putIfAbsent(jobId, state) == null && !state.isLeaderKnown()) {
+            refresh(jobId);
+        }
+    }
+
+    /**
+     Fast, lock-free check of whether a tracked job still accepts bids.
+     @param jobId the ID of the job
+     @return true if the job is tracked, open and not expired
+     **/
+    public boolean isAcceptingBids(Long jobId) {
+        AuctionState state = states.get(jobId);
+        return state != null && state.isAcceptingBids(LocalDateTime.now());
+    }
+
+    /**
+     Applies a bid on the shard owning the job and hands the accepted bid over to the write-behind pipeline.
+     Returns once the bid is acknowledged according to the configured acknowledgement mode, or as pending once the
+     acknowledgement timed out.
+     @param jobId the ID of the job
+     @param amount the amount of the bid
+     @param bidderId the ID of the bidder
+     @return the outcome of the bid and the number of bids written, the bids of the proxies answering it included
+     **/
+    public BidPlacement placeBid(Long jobId, double amount, Long bidderId) {
+        AuctionState state = states.get(jobId);
+        if (state == null) {
+            return BidPlacement.refused(BidOutcome.EXPIRED);
+        }
+        Applied applied = await(submit(jobId, () -> apply(state, amount, bidderId)));
+        if (applied == null) {
+            return BidPlacement.refused(state.isAcceptingBids(LocalDateTime.now()) ? BidOutcome.THROTTLED : BidOutcome.EXPIRED);
+        }
+        // Wait outside the shard for the write-behind acknowledgement so the shard keeps accepting bids
+        return new BidPlacement(awaitAck(applied.ack()), applied.bidsWritten());
+    }
+
+    /**
+     Applies bids on the shards owning their jobs without waiting for one another, so their write-behind
+     acknowledgements share batches. Bids of one job are applied in list order.
+     @param bids the bids to apply
+     @return the placement of each bid, in order, completed once the bid is acknowledged, as pending once its
+     acknowledgement timed out, or failed with the reason it could not be applied or acknowledged
+     **/
+    public List<CompletableFuture<BidPlacement>> placeBids(List<BidDTO> bids) {
+        List<CompletableFuture<BidPlacement>> outcomes = new ArrayList<>(bids.size());
+        List<AtomicBoolean> starts = new ArrayList<>(bids.size());
+        List<CompletableFuture<BidPlacement>> submitted = new ArrayList<>(bids.size());
+        for (BidDTO bid : bids) {
+            AuctionState state = states.get(bid.getJobId());
+            if (state == null) {
+                outcomes.add(CompletableFuture.completedFuture(BidPlacement.refused(BidOutcome.EXPIRED)));
+                continue;
+            }
+            CompletableFuture<BidPlacement> outcome = new CompletableFuture<>();
+            // Whichever of the shard and the timeout claims the bid first decides whether it is applied
+            AtomicBoolean started = new AtomicBoolean();
+            try {
+                submit(bid.getJobId(), () -> {
+                    if (!started.compareAndSet(false, true)) {
+                        return null;
+                    }
+                    Applied applied = apply(state, bid.getAmount(), bid.getBidderId());
+                    if (applied == null) {
+                        outcome.complete(BidPlacement.refused(
+                                state.isAcceptingBids(LocalDateTime.now()) ? BidOutcome.THROTTLED : BidOutcome.EXPIRED));
+                    } else {
+                        applied.ack().whenComplete((ignored, failure) -> {
+                            if (failure == null) {
+                                outcome.complete(new BidPlacement(BidOutcome.ACCEPTED, applied.bidsWritten()));
+                            } else {
+                                outcome.completeExceptionally(failure);
+                            }
+                        });
+                        outcome.completeOnTimeout(new BidPlacement(BidOutcome.PENDING, applied.bidsWritten()),
+                                submitTimeoutMs, TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                });
+                starts.add(started);
+                submitted.add(outcome);
+            } catch (MarketPlaceException ex) {
+                outcome.completeExceptionally(ex);
+            }
+            outcomes.add(outcome);
+        }
+
+        if (!starts.isEmpty()) {
+            CompletableFuture.delayedExecutor(submitTimeoutMs, TimeUnit.MILLISECONDS).execute(() -> {
+                for (int i = 0; i < starts.size(); i++) {
+                    // Bids the shard did not reach in time are never applied
+                    if (starts.get(i).compareAndSet(false, true)) {
+                        submitted.get(i).completeExceptionally(new TimeoutException("Timed out waiting on auction shard"));
+                    }
+                }
+            });
+        }
+        return outcomes;
+    }
+
+    /**
+     Registers or replaces the proxy bid of a bidder on a job and resolves it against the other bids right away.
+     Returns once the bids it caused are acknowledged.
+     @param jobId the ID of the job
+     @param bidderId the ID of the bidder
+     @param amount the amount of the first bid of the proxy
+     @param floorAmount the lowest amount the proxy may bid
+     @param decrement how much the proxy undercuts a rival bid by
+     @return the outcome of the registration and the number of bids it caused
+     **/
+    public BidPlacement registerProxy(Long jobId, Long bidderId, double amount, double floorAmount, double decrement) {
+        AuctionState state = states.get(jobId);
+        if (state == null) {
+            return BidPlacement.refused(BidOutcome.EXPIRED);
+        }
+        Applied applied = await(submit(jobId, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!state.isAcceptingBids(now)) {
+                return null;
+            }
+            // Registering again moves the proxy behind the ones registered before, which win ties
+            state.proxies().remove(bidderId);
+            state.proxies().put(bidderId, new ProxyBid(bidderId, amount, floorAmount, decrement));
+            List<CompletableFuture<Void>> acks = resolveProxies(state, now);
+            return new Applied(CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)), acks.size());
+        }));
+        if (applied == null) {
+            return BidPlacement.refused(BidOutcome.EXPIRED);
+        }
+        awaitAck(applied.ack());
+        return new BidPlacement(BidOutcome.ACCEPTED, applied.bidsWritten());
+    }
+
+    /**
+     Removes the proxy bid of a bidder from a job. Bids the proxy already placed are kept.
+     @param jobId the ID of the job
+     @param bidderId the ID of the bidder
+     @return true if the bidder had a proxy bid on the job
+     **/
+    public boolean cancelProxy(Long jobId, Long bidderId) {
+        AuctionState state = states.get(jobId);
+        if (state == null) {
+            return false;
+        }
+        return await(submit(jobId, () -> state.proxies().remove(bidderId) != null));
+    }
+
+    /**
+     Marks a job as closed so no further bids are accepted, and stops tracking it.
+     @param jobId the ID of the job
+     **/
+    public void close(Long jobId) {
+        AuctionState state = states.get(jobId);
+        if (state == null) {
+            return;
+        }
+        await(submit(jobId, () -> {
+            state.close();
+            return null;
+        }));
+        states.remove(jobId);
+    }
+
+    private Applied apply(AuctionState state, double amount, Long bidderId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!state.isAcceptingBids(now)) {
+            return null;
+        }
+        CompletableFuture<Void> ack = write(state, amount, bidderId, now);
+        if (ack == null) {
+            return null;
+        }
+        // The bids of the proxies are acknowledged on their own, the bidder only waits for its own bid
+        return new Applied(ack, 1 + resolveProxies(state, now).size());
+    }
+
+    private CompletableFuture<Void> write(AuctionState state, double amount, Long bidderId, LocalDateTime now) {
+        CompletableFuture<Void> ack = bidPersistenceService.enqueue(state.getJobId(), amount, bidderId, now);
+        if (ack != null) {
+            state.recordBid(amount, bidderId);
+            ack.whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    reconcile(state);
+                }
+            });
+        }
+        return ack;
+    }
+
+    /**
+     Schedules a reload of the statistics of a job whose bid could not be written, once per job at a time.
+     @param state the auction holding the bid
+     **/
+    private void reconcile(AuctionState state) {
+        Long jobId = state.getJobId();
+        if (!reconciling.add(jobId)) {
+            return;
+        }
+        try {
+            submit(jobId, () -> {
+                reconciling.remove(jobId);
+                if (state.requestReload(true)) {
+                    reload(state);
+                }
+                return null;
+            });
+        } catch (MarketPlaceException ex) {
+            reconciling.remove(jobId);
+            drop(state);
+        }
+    }
+
+    /**
+     Reloads the statistics of a tracked job from its row, keeping its proxy bids, after bids of the job were written
+     around the engine: by a bulk request of a clustered node, or by another node. Returns without waiting for it.
+     @param jobId the ID of the job
+     **/
+    public void refresh(Long jobId) {
+        AuctionState state = states.get(jobId);
+        if (state == null) {
+            return;
+        }
+        try {
+            submit(jobId, () -> {
+                if (state.requestReload(false)) {
+                    reload(state);
+                }
+                return null;
+            });
+        } catch (MarketPlaceException ex) {
+            drop(state);
+        }
+    }
+
+    /**
+     Reloads the statistics of every tracked job from its row, after changes of other nodes were missed.
+     **/
+    public void refreshAll() {
+        states.keySet().forEach(this::refresh);
+    }
+
+    // Runs on the shard, the row is read by the write-behind writer and only the result is applied on the shard
+    private void reload(AuctionState state) {
+        Long jobId = state.getJobId();
+        state.markReload();
+        CompletableFuture<Optional<Row>> row = bidPersistenceService.afterQueued(() -> jobRepository
+                .findSummaryById(jobId)
+                .map(summary -> new Row(summary, jobRepository.findLeadingBidderId(jobId).orElse(null))));
+        if (row == null) {
+            log.warn("Failed to reload job ID: {} as the write-behind queue is full, dropping it from the engine.", jobId);
+            drop(state);
+            return;
+        }
+        row.whenComplete((summary, failure) -> {
+            try {
+                submit(jobId, () -> {
+                    reset(state, summary, failure);
+                    return null;
+                });
+            } catch (MarketPlaceException ex) {
+                drop(state);
+            }
+        });
+    }
+
+    private void reset(AuctionState state, Optional<Row> row, Throwable failure) {
+        Long jobId = state.getJobId();
+        if (failure != null) {
+            log.warn("Failed to reload job ID: {}, dropping it from the engine.", jobId, failure);
+            drop(state);
+            return;
+        }
+        JobSummaryDTO summary = row.map(Row::summary).orElse(null);
+        if (summary == null || summary.getStatus() == JobStatus.CLOSED) {
+            state.close();
+            drop(state);
+            return;
+        }
+        if (state.reset(summary.getLowestBidAmount(), summary.getBidCount(), row.get().leadingBidderId())) {
+            reload(state);
+            return;
+        }
+        if (state.takeReconciles()) {
+            log.warn("Reloaded the statistics of job ID: {} after a bid could not be written.", jobId);
+            eventPublisher.publishEvent(new AuctionReconciledEvent(jobId));
+        }
+        // Proxy bids wait for the leader to be known, their bids are acknowledged on their own
+        resolveProxies(state, LocalDateTime.now());
+    }
+
+    // The job is loaded again from its row on its next bid
+    private void drop(AuctionState state) {
+        states.remove(state.getJobId(), state);
+        eventPublisher.publishEvent(new AuctionReconciledEvent(state.getJobId()));
+    }
+
+    /**
+     Settles the competing proxy bids of a job in one step instead of one bid per decrement: the proxy with the
+     lowest floor, the earliest registered on a tie, undercuts the lowest bid and the floor of the runner-up. The
+     runner-up bids its floor first when that is what set the price. Proxies of other bidders that can no longer
+     undercut the lowest bid are dropped. Nothing is resolved while the bidder of the lowest bid is unknown, as the
+     proxy of that bidder would undercut its own bid.
+     @param state the auction, owned by the calling shard
+     @param now the current time
+     @return the acknowledgements of the bids written
+     **/
+    private List<CompletableFuture<Void>> resolveProxies(AuctionState state, LocalDateTime now) {
+        if (!state.isLeaderKnown() || !state.isAcceptingBids(now)) {
+            return List.of();
+        }
+        dropOutbid(state);
+        ProxyBid best = null;
+        ProxyBid runnerUp = null;
+        for (ProxyBid proxy : state.proxies().values()) {
+            if (best == null || proxy.floorAmount() < best.floorAmount()) {
+                runnerUp = best;
+                best = proxy;
+            } else if (runnerUp == null || proxy.floorAmount() < runnerUp.floorAmount()) {
+                runnerUp = proxy;
+            }
+        }
+        if (best == null) {
+            return List.of();
+        }
+
+        boolean leading = best.bidderId().equals(state.getLeadingBidderId());
+        double rival = Math.min(leading ? Double.MAX_VALUE : state.getLowestBidAmount(),
+                runnerUp != null ? runnerUp.floorAmount() : Double.MAX_VALUE);
+        if (leading && state.getLowestBidAmount() < rival) {
+            return List.of();
+        }
+        double amount = Math.max(best.floorAmount(), Math.min(best.amount(), rival - best.decrement()));
+        if (amount >= state.getLowestBidAmount()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>(2);
+        if (runnerUp != null && rival == runnerUp.floorAmount() && rival < state.getLowestBidAmount()
+                && rival > amount && rival - best.decrement() <= best.amount()) {
+            CompletableFuture<Void> ack = write(state, runnerUp.floorAmount(), runnerUp.bidderId(), now);
+            if (ack == null) {
+                return List.of();
+            }
+            acks.add(ack);
+        }
+        CompletableFuture<Void> ack = write(state, amount, best.bidderId(), now);
+        if (ack != null) {
+            acks.add(ack);
+        }
+        dropOutbid(state);
+        return acks;
+    }
+
+    private static void dropOutbid(AuctionState state) {
+        state.proxies().values().removeIf(proxy -> !proxy.bidderId().equals(state.getLeadingBidderId())
+                && proxy.floorAmount() >= state.getLowestBidAmount());
+    }
+
+    private <T> Future<T> submit(Long jobId, Callable<T> task) {
+        try {
+            return shards[Math.floorMod(jobId.hashCode(), shards.length)].submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new MarketPlaceException(HttpStatus.SERVICE_UNAVAILABLE, BID_REJECTED, "Auction shard queue is full");
+        }
+    }
+
+    private <T> T await(Future<T> result) {
+        try {
+            try {
+                return result.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                if (result.cancel(false)) {
+                    throw new MarketPlaceException(HttpStatus.SERVICE_UNAVAILABLE, BID_REJECTED, "Timed out waiting on auction shard");
+                }
+                // The task already runs on the shard, its result is reported instead of a rejection
+                return result.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MarketPlaceException(HttpStatus.SERVICE_UNAVAILABLE, BID_REJECTED, "Interrupted while waiting on auction shard");
+        } catch (ExecutionException ex) {
+            throw failure(ex);
+        }
+    }
+
+    /**
+     Waits for the write-behind acknowledgement of queued bids. Bids stay queued when the wait times out,
+     so they are reported as pending rather than rejected.
+     @param ack the acknowledgement
+     @return ACCEPTED once acknowledged, PENDING if the acknowledgement did not arrive in time
+     **/
+    private BidOutcome awaitAck(CompletableFuture<Void> ack) {
+        try {
+            ack.get(submitTimeoutMs, TimeUnit.MILLISECONDS);
+            return BidOutcome.ACCEPTED;
+        } catch (TimeoutException ex) {
+            return BidOutcome.PENDING;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return BidOutcome.PENDING;
+        } catch (ExecutionException ex) {
+            throw failure(ex);
+        }
+    }
+
+    private static MarketPlaceException failure(ExecutionException ex) {
+        if (ex.getCause() instanceof MarketPlaceException marketPlaceException) {
+            return marketPlaceException;
+        }
+        return new MarketPlaceException(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong!", String.valueOf(ex.getCause()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        try {
+            for (ExecutorService shard : shards) {
+                shard.awaitTermination(submitTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     Bids applied on a shard: the acknowledgement to wait for and the number of bids written.
+     **/
+    private record Applied(CompletableFuture<Void> ack, int bidsWritten) {
+    }
+
+    /**
+     Row of a job read for a reload: its statistics and the bidder of its lowest bid.
+     **/
+    private record Row(JobSummaryDTO summary, Long leadingBidderId) {
+    }
+}
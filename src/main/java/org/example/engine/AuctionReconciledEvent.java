@@ -0,0 +1,8 @@
+package org.example.engine;
+
+/**
+ Published once the engine reloaded the statistics of a job from its row, or dropped the job, after a bid of the
+ job could not be written. Statistics derived from the engine before are stale.
+ **/
+public record AuctionReconciledEvent(Long jobId) {
+}
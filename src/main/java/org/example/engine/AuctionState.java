@@ -0,0 +1,145 @@
+package org.example.engine;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.example.enums.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ In-memory view of one open auction. Fields are written only by the shard that owns the job,
+ readers on other threads see them through the volatile fields.
+ **/
+@Getter
+public class AuctionState {
+    private final Long jobId;
+    private final LocalDateTime expireAt;
+    private volatile boolean closed;
+    private volatile double lowestBidAmount;
+    private volatile double bidCount;
+    // Read along with the statistics of the row, unknown until then for jobs loaded from the database with bids
+    private volatile Long leadingBidderId;
+    // Proxy bids by bidder ID in registration order, only touched by the shard
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, ProxyBid> proxies = new LinkedHashMap<>();
+    // Reload of the statistics from the row, only touched by the shard: the bids applied since the row was asked for
+    @Getter(AccessLevel.NONE)
+    private boolean reloading;
+    @Getter(AccessLevel.NONE)
+    private boolean reloadAgain;
+    @Getter(AccessLevel.NONE)
+    private boolean reloadReconciles;
+    @Getter(AccessLevel.NONE)
+    private double bidsSinceMark;
+    @Getter(AccessLevel.NONE)
+    private double lowestSinceMark = Double.MAX_VALUE;
+    @Getter(AccessLevel.NONE)
+    private Long leaderSinceMark;
+
+    public AuctionState(Long jobId, LocalDateTime expireAt, JobStatus status, Double lowestBidAmount, Double bidCount) {
+        this.jobId = jobId;
+        this.expireAt = expireAt;
+        this.closed = status == JobStatus.CLOSED;
+        this.lowestBidAmount = lowestBidAmount != null ? lowestBidAmount : Double.MAX_VALUE;
+        this.bidCount = bidCount != null ? bidCount : 0.0;
+    }
+
+    /**
+     Checks whether the auction still accepts bids at the given time.
+     @param now the current time
+     @return true if the auction is open and not expired
+     **/
+    public boolean isAcceptingBids(LocalDateTime now) {
+        return !closed && expireAt != null && expireAt.isAfter(now);
+    }
+
+    /**
+     Checks whether the bidder of the lowest bid is known, proxy bids are only resolved once it is.
+     @return true if the leading bidder is known or the auction has no bid yet
+     **/
+    boolean isLeaderKnown() {
+        return leadingBidderId != null || lowestBidAmount == Double.MAX_VALUE;
+    }
+
+    void recordBid(double amount, Long bidderId) {
+        if (amount < lowestBidAmount) {
+            lowestBidAmount = amount;
+            leadingBidderId = bidderId;
+        }
+        bidCount = bidCount + 1;
+        if (reloading) {
+            bidsSinceMark++;
+            if (amount < lowestSinceMark) {
+                lowestSinceMark = amount;
+                leaderSinceMark = bidderId;
+            }
+        }
+    }
+
+    /**
+     Asks for the statistics to be reloaded from the row. A reload already running is started again once done, as
+     its row may have been read before the change that asked for this one.
+     @param reconcile whether a bid of the job could not be written
+     @return true if no reload is running, so the caller starts one
+     **/
+    boolean requestReload(boolean reconcile) {
+        reloadReconciles |= reconcile;
+        if (reloading) {
+            reloadAgain = true;
+            return false;
+        }
+        reloading = true;
+        return true;
+    }
+
+    /**
+     Starts counting the bids applied from now on, the row about to be read does not hold them.
+     **/
+    void markReload() {
+        reloadAgain = false;
+        bidsSinceMark = 0;
+        lowestSinceMark = Double.MAX_VALUE;
+        leaderSinceMark = null;
+    }
+
+    /**
+     Replaces the statistics with the ones of the row, plus the bids applied since the row was asked for.
+     @param lowestBidAmount the lowest bid amount of the row
+     @param bidCount the bid count of the row
+     @param leadingBidderId the bidder of the lowest bid row
+     @return true if another reload was asked for meanwhile, the reload then goes on
+     **/
+    boolean reset(Double lowestBidAmount, Double bidCount, Long leadingBidderId) {
+        double lowest = lowestBidAmount != null ? lowestBidAmount : Double.MAX_VALUE;
+        if (lowestSinceMark < lowest) {
+            this.lowestBidAmount = lowestSinceMark;
+            this.leadingBidderId = leaderSinceMark;
+        } else {
+            this.lowestBidAmount = lowest;
+            this.leadingBidderId = leadingBidderId;
+        }
+        this.bidCount = (bidCount != null ? bidCount : 0.0) + bidsSinceMark;
+        reloading = reloadAgain;
+        return reloadAgain;
+    }
+
+    /**
+     Clears whether the reload that just completed was asked for after a bid could not be written.
+     @return true if it was
+     **/
+    boolean takeReconciles() {
+        boolean reconciles = reloadReconciles;
+        reloadReconciles = false;
+        return reconciles;
+    }
+
+    Map<Long, ProxyBid> proxies() {
+        return proxies;
+    }
+
+    void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.engine;
+
+import org.example.enums.BidOutcome;
+
+/**
+ Result of a bid or proxy registration applied by the auction engine.
+ @param outcome whether the bid was accepted, is still being written, or was refused
+ @param bidsWritten the bids written, the bid itself and the bids of the proxies that answered it
+ **/
+public record BidPlacement(BidOutcome outcome, int bidsWritten) {
+    /**
+     A placement that wrote no bid.
+     @param outcome the reason
+     @return the placement
+     **/
+    public static BidPlacement refused(BidOutcome outcome) {
+        return new BidPlacement(outcome, 0);
+    }
+}
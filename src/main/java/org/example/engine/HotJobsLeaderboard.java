@@ -0,0 +1,299 @@
+package org.example.engine;
+
+import lombok.extern.log4j.Log4j2;
+import org.example.dtos.JobDTO;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.enums.JobRanking;
+import org.example.enums.JobStatus;
+import org.example.repositories.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ Leaderboard of the open jobs ranked by total bid count or by bid velocity over a sliding window.
+ Rankings are kept in concurrent skip lists updated on every accepted bid, so the top K jobs are
+ read in O(K). The rankings only hold job IDs and scores, the details of a job are kept once it has
+ been posted on this node or ranked in a top K, and loaded from the database otherwise. In a cluster the bids
+ accepted by the other nodes arrive over the cache bus, so the velocity of a job lags by the coalesce interval.
+ **/
+@Log4j2
+@Component
+public class HotJobsLeaderboard {
+    private final Map<Long, JobDTO> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, SlidingCounter> recentBids = new ConcurrentHashMap<>();
+    private final Ranking byCount = new Ranking();
+    private final Ranking byVelocity = new Ranking();
+    private final JobRepository jobRepository;
+    private final int windowSeconds;
+
+    public HotJobsLeaderboard(JobRepository jobRepository,
+                              @Value("${leaderboard.velocity-window-seconds:60}") int windowSeconds) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("leaderboard.velocity-window-seconds must be positive, got "
+                    + windowSeconds);
+        }
+        this.jobRepository = jobRepository;
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     Adds an open job to the leaderboard.
+     @param job the job
+     @param bidCount the number of bids the job already has
+     **/
+    public void add(JobDTO job, double bidCount) {
+        jobs.put(job.getJobId(), job);
+        byCount.update(job.getJobId(), bidCount);
+    }
+
+    /**
+     Adds an open job posted on another node, unless it is already listed. Its details are loaded once it makes it
+     into a top K.
+     @param jobId the ID of the job
+     **/
+    public void add(Long jobId) {
+        byCount.updateIfAbsent(jobId, 0);
+    }
+
+    /**
+     Records an accepted bid, of this node or of another one. Bids on jobs unknown to the leaderboard are ignored.
+     @param jobId the ID of the job
+     **/
+    public void recordBid(Long jobId) {
+        recordBids(jobId, 1);
+    }
+
+    /**
+     Records accepted bids of one job, e.g. a bid and the proxy bids that answered it.
+     @param jobId the ID of the job
+     @param count the number of bids
+     **/
+    public void recordBids(Long jobId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        long now = nowSeconds();
+        // Runs under the lock of the job's bid count entry, so a concurrent remove either comes first and the bids
+        // are ignored, or comes after and also removes what the bids added
+        byCount.incrementIfPresent(jobId, count, () -> {
+            SlidingCounter counter = recentBids.computeIfAbsent(jobId, id -> new SlidingCounter(windowSeconds));
+            byVelocity.update(jobId, counter.add(now, count));
+        });
+    }
+
+    /**
+     Removes a job from the leaderboard, e.g. once it is closed.
+     @param jobId the ID of the job
+     **/
+    public void remove(Long jobId) {
+        byCount.remove(jobId, () -> {
+            recentBids.remove(jobId);
+            byVelocity.remove(jobId);
+        });
+        jobs.remove(jobId);
+    }
+
+    /**
+     Gets the top jobs of a ranking.
+     @param ranking total bid count or bids within the sliding window
+     @param limit the number of jobs to return
+     @return the top jobs, best first
+     **/
+    public List<JobDTO> top(JobRanking ranking, int limit) {
+        Ranking source = ranking == JobRanking.BID_VELOCITY ? byVelocity : byCount;
+        List<Long> topIds = new ArrayList<>(limit);
+        Iterator<Long> jobIds = source.iterator();
+        while (topIds.size() < limit && jobIds.hasNext()) {
+            topIds.add(jobIds.next());
+        }
+        List<Long> missing = topIds.stream().filter(jobId -> !jobs.containsKey(jobId)).toList();
+        if (!missing.isEmpty()) {
+            for (JobListingDTO listing : jobRepository.findListingsByIdIn(missing)) {
+                // Not kept for a job removed meanwhile, nothing would remove it later
+                jobs.putIfAbsent(listing.getJobId(), listing.toJobDTO());
+                if (!byCount.contains(listing.getJobId())) {
+                    jobs.remove(listing.getJobId());
+                }
+            }
+        }
+        return topIds.stream().map(jobs::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     Gets a page of the open jobs by descending bid count, newer jobs first on ties, continuing after the last job
+     of the previous page. Walks the ranking from that job on, so every page costs the same as the first one.
+     @param afterBidCount the bid count of the last job of the previous page, or null for the first page
+     @param afterJobId the ID of that job
+     @param limit the number of jobs to return
+     @return the IDs and bid counts of the jobs, in order
+     **/
+    public List<Entry> pageByBidCount(Double afterBidCount, Long afterJobId, int limit) {
+        Entry after = afterBidCount == null || afterJobId == null ? null : new Entry(afterJobId, afterBidCount);
+        return byCount.page(after, limit);
+    }
+
+    /**
+     Lets bids age out of the velocity window so that jobs cool down without new bids.
+     **/
+    @Scheduled(fixedRate = 1000)
+    public void refreshVelocity() {
+        long now = nowSeconds();
+        recentBids.forEach((jobId, counter) -> {
+            int count = counter.count(now);
+            if (count == 0) {
+                recentBids.remove(jobId, counter);
+                byVelocity.remove(jobId);
+            } else {
+                // Only while still ranked, the job may have been removed since the iteration started
+                byVelocity.updateIfPresent(jobId, count);
+            }
+        });
+    }
+
+    /**
+     Rebuilds the leaderboard from the open jobs in the database once the application has started, and again when
+     changes of other nodes were missed. Only the IDs and bid counts are loaded, the details are loaded for the jobs
+     that make it into a top K. Jobs no longer open are removed.
+     **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<JobSummaryDTO> openJobs = jobRepository.findAllSummariesByStatus(JobStatus.OPEN);
+        Set<Long> openIds = new HashSet<>(openJobs.size());
+        for (JobSummaryDTO job : openJobs) {
+            openIds.add(job.getJobId());
+            byCount.update(job.getJobId(), job.getBidCount() == null ? 0 : job.getBidCount());
+        }
+        byCount.jobIds().stream().filter(jobId -> !openIds.contains(jobId)).forEach(this::remove);
+        log.info("Loaded {} open jobs into the hot jobs leaderboard.", openJobs.size());
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     Jobs ordered by descending score, newer jobs first on ties. The index makes every update a remove
+     and an insert of a single skip list entry, both O(log n).
+     **/
+    private static final class Ranking {
+        private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+                .thenComparing(Entry::jobId, Comparator.reverseOrder());
+
+        private final Map<Long, Entry> index = new ConcurrentHashMap<>();
+        private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+
+        private void update(Long jobId, double score) {
+            // compute serialises updates of one job so its entry is never duplicated in the skip list
+            index.compute(jobId, (id, previous) -> replace(previous, new Entry(id, score)));
+        }
+
+        private void updateIfAbsent(Long jobId, double score) {
+            index.computeIfAbsent(jobId, id -> replace(null, new Entry(id, score)));
+        }
+
+        private void updateIfPresent(Long jobId, double score) {
+            index.computeIfPresent(jobId, (id, previous) -> replace(previous, new Entry(id, score)));
+        }
+
+        private void incrementIfPresent(Long jobId, int count, Runnable whileLocked) {
+            index.computeIfPresent(jobId, (id, previous) -> {
+                whileLocked.run();
+                return replace(previous, new Entry(id, previous.score() + count));
+            });
+        }
+
+        private boolean contains(Long jobId) {
+            return index.containsKey(jobId);
+        }
+
+        private List<Long> jobIds() {
+            return List.copyOf(index.keySet());
+        }
+
+        private Entry replace(Entry previous, Entry next) {
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            entries.add(next);
+            return next;
+        }
+
+        private void remove(Long jobId) {
+            remove(jobId, () -> {
+            });
+        }
+
+        private void remove(Long jobId, Runnable whileLocked) {
+            index.compute(jobId, (id, previous) -> {
+                if (previous != null) {
+                    entries.remove(previous);
+                }
+                whileLocked.run();
+                return null;
+            });
+        }
+
+        private Iterator<Long> iterator() {
+            return entries.stream().map(Entry::jobId).iterator();
+        }
+
+        private List<Entry> page(Entry after, int limit) {
+            return (after == null ? entries : entries.tailSet(after, false)).stream().limit(limit).toList();
+        }
+    }
+
+    /**
+     Job ranked by a score, the bid count or the bids within the window.
+     **/
+    public record Entry(Long jobId, double score) {
+    }
+
+    /**
+     Bid count over the last window of seconds, kept in one bucket per second.
+     **/
+    private static final class SlidingCounter {
+        private final long[] seconds;
+        private final int[] counts;
+
+        private SlidingCounter(int windowSeconds) {
+            this.seconds = new long[windowSeconds];
+            this.counts = new int[windowSeconds];
+        }
+
+        private synchronized int add(long now, int count) {
+            int bucket = (int) (now % seconds.length);
+            if (seconds[bucket] != now) {
+                seconds[bucket] = now;
+                counts[bucket] = 0;
+            }
+            counts[bucket] += count;
+            return count(now);
+        }
+
+        private synchronized int count(long now) {
+            int total = 0;
+            for (int i = 0; i < seconds.length; i++) {
+                if (now - seconds[i] < seconds.length) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.engine;
+
+/**
+ Standing instruction of a bidder to undercut rival bids on a job, starting at the amount and going down by the
+ decrement, but never below the floor amount.
+ **/
+record ProxyBid(Long bidderId, double amount, double floorAmount, double decrement) {
+}
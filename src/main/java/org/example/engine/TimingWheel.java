@@ -0,0 +1,136 @@
+package org.example.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ Hierarchical timing wheel keyed by job ID. Level 0 has one slot per tick, every higher level has slots
+ {@value #WHEEL_SIZE} times coarser, and entries cascade down a level as their slot comes up. Scheduling,
+ cancelling and expiring are O(1) per entry, so advancing costs only what actually expires.
+ Not thread-safe, it is meant to be driven by a single ticker thread.
+ **/
+public class TimingWheel {
+    private static final int WHEEL_BITS = 9;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMs;
+    private final List<List<Entry>[]> levels = new ArrayList<>(LEVELS);
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private final List<Entry> overdue = new ArrayList<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, long startMs) {
+        this.tickMs = tickMs;
+        this.currentTick = startMs / tickMs;
+        for (int level = 0; level < LEVELS; level++) {
+            List<Entry>[] slots = new List[WHEEL_SIZE];
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                slots[slot] = new ArrayList<>();
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     Schedules a job to expire at the given time, replacing any earlier schedule of the same job.
+     @param jobId the ID of the job
+     @param deadlineMs the expiry time in epoch milliseconds
+     **/
+    public void schedule(Long jobId, long deadlineMs) {
+        // Round up so an entry never fires before its deadline
+        long tick = (deadlineMs + tickMs - 1) / tickMs;
+        deadlines.put(jobId, tick);
+        if (tick <= currentTick) {
+            overdue.add(new Entry(jobId, tick));
+        } else {
+            place(new Entry(jobId, tick));
+        }
+    }
+
+    /**
+     Cancels the schedule of a job.
+     @param jobId the ID of the job
+     **/
+    public void cancel(Long jobId) {
+        deadlines.remove(jobId);
+    }
+
+    /**
+     Gets the number of scheduled jobs.
+     @return the number of pending expirations
+     **/
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     Advances the wheel to the given time.
+     @param nowMs the current time in epoch milliseconds
+     @return the IDs of the jobs that expired since the last advance
+     **/
+    public List<Long> advance(long nowMs) {
+        List<Long> expired = new ArrayList<>();
+        overdue.forEach(entry -> collect(entry, expired));
+        overdue.clear();
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            List<Entry> slot = levels.get(0)[(int) (currentTick & WHEEL_MASK)];
+            for (Entry entry : slot) {
+                collect(entry, expired);
+            }
+            slot.clear();
+        }
+        return expired;
+    }
+
+    private void cascade() {
+        // Find the highest level whose slot boundary was crossed, then move entries down from the top
+        int highest = 0;
+        while (highest < LEVELS - 1 && ((currentTick >> (WHEEL_BITS * (highest + 1))) << (WHEEL_BITS * (highest + 1))) == currentTick) {
+            highest++;
+        }
+        for (int level = highest; level > 0; level--) {
+            List<Entry> slot = levels.get(level)[(int) ((currentTick >> (WHEEL_BITS * level)) & WHEEL_MASK)];
+            List<Entry> entries = new ArrayList<>(slot);
+            slot.clear();
+            for (Entry entry : entries) {
+                if (isCurrent(entry)) {
+                    place(entry);
+                }
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        // Entries cascaded on their own tick land in the level 0 slot that is expired right after the cascade
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if ((entry.tick() >> shift) - (currentTick >> shift) < WHEEL_SIZE || level == LEVELS - 1) {
+                levels.get(level)[(int) ((entry.tick() >> shift) & WHEEL_MASK)].add(entry);
+                return;
+            }
+        }
+    }
+
+    private void collect(Entry entry, List<Long> expired) {
+        if (isCurrent(entry)) {
+            deadlines.remove(entry.jobId());
+            expired.add(entry.jobId());
+        }
+    }
+
+    private boolean isCurrent(Entry entry) {
+        Long tick = deadlines.get(entry.jobId());
+        return tick != null && tick == entry.tick();
+    }
+
+    private record Entry(Long jobId, long tick) {
+    }
+}
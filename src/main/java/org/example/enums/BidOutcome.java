@@ -0,0 +1,9 @@
+package org.example.enums;
+
+public enum BidOutcome {
+    ACCEPTED,
+    // Queued for writing but not acknowledged in time, it is still written
+    PENDING,
+    EXPIRED,
+    THROTTLED
+}
@@ -0,0 +1,6 @@
+package org.example.enums;
+
+public enum JobRanking {
+    BID_COUNT,
+    BID_VELOCITY
+}
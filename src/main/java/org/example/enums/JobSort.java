@@ -0,0 +1,6 @@
+package org.example.enums;
+
+public enum JobSort {
+    RECENT,
+    BIDS
+}
@@ -22,7 +22,12 @@ public class ExceptionAdvice {
 
     @ExceptionHandler
     public ResponseEntity<Map<String, Object>> handle(MarketPlaceException ex) {
-        log.error(EXCEPTION, ex.getInternalMessage());
+        // Client errors such as bids on expired auctions are routine, only server errors are logged as errors
+        if (ex.getStatus().is5xxServerError()) {
+            log.error(EXCEPTION, ex.getInternalMessage());
+        } else {
+            log.warn(EXCEPTION, ex.getInternalMessage());
+        }
         Map<String, Object> map = new HashMap<>();
         map.put(END_USER_MESSAGE, ex.getEndUserMessage());
         map.put(INTERNAL_MESSAGE, ex.getInternalMessage());
@@ -0,0 +1,87 @@
+package org.example.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.example.cache.JobSummaryCache;
+import org.example.cache.UserPrincipalCache;
+import org.example.engine.AuctionEngine;
+import org.example.security.PasswordHashingService;
+import org.example.security.VerifiedTokenCache;
+import org.example.services.AuctionCloseScheduler;
+import org.example.services.BidPersistenceService;
+import org.example.services.JobClosingEngine;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ Gauges of the in-memory auction state and the internal queues, and the statistics of the caches. Cache meters
+ use the standard Micrometer cache names (cache.gets, cache.evictions, cache.size) tagged with the cache name.
+ Timers and counters of individual operations are registered by the components that run them.
+ **/
+@Component
+@AllArgsConstructor
+public class MarketPlaceMetrics implements MeterBinder {
+    private final AuctionEngine auctionEngine;
+    private final AuctionCloseScheduler auctionCloseScheduler;
+    private final JobClosingEngine jobClosingEngine;
+    private final BidPersistenceService bidPersistenceService;
+    private final PasswordHashingService passwordHashingService;
+    private final JobSummaryCache jobSummaryCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("marketplace.auctions.open", auctionCloseScheduler, AuctionCloseScheduler::getScheduledCount)
+                .description("Open auctions scheduled for closing")
+                .register(registry);
+        Gauge.builder("marketplace.auctions.pending.close", auctionCloseScheduler, AuctionCloseScheduler::getPendingCloseCount)
+                .description("Expired auctions waiting to be closed")
+                .register(registry);
+        Gauge.builder("marketplace.auctions.sweep.lag", jobClosingEngine, MarketPlaceMetrics::sweepLagMs)
+                .description("Longest time a job stayed open past its expiry in the last sweep")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("marketplace.auctions.tracked", auctionEngine, AuctionEngine::getTrackedCount)
+                .description("Auctions held in memory by the auction engine")
+                .register(registry);
+        Gauge.builder("marketplace.bids.write.queue", bidPersistenceService, BidPersistenceService::getQueueDepth)
+                .description("Accepted bids waiting to be written")
+                .register(registry);
+        Gauge.builder("marketplace.auth.hashing.queue", passwordHashingService, PasswordHashingService::getQueueDepth)
+                .description("Password hashing tasks waiting for a thread")
+                .register(registry);
+
+        bindCache(registry, "jobSummary", jobSummaryCache, JobSummaryCache::getStats, JobSummaryCache::getSize);
+        bindCache(registry, "userPrincipal", userPrincipalCache, UserPrincipalCache::getStats, UserPrincipalCache::getSize);
+        bindCache(registry, "verifiedTokens", verifiedTokenCache, VerifiedTokenCache::getStats, VerifiedTokenCache::getSize);
+    }
+
+    private static double sweepLagMs(JobClosingEngine engine) {
+        JobClosingEngine.SweepStats sweep = engine.getLastSweep();
+        return sweep == null ? 0 : sweep.maxLag().toMillis();
+    }
+
+    private static <C> void bindCache(MeterRegistry registry, String name, C cache, Function<C, CacheStats> stats,
+                                      ToDoubleFunction<C> size) {
+        // Meters hold the cache weakly, it has to be the cache bean itself and not a wrapper around it
+        FunctionCounter.builder("cache.gets", cache, value -> stats.apply(value).hitCount())
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, value -> stats.apply(value).missCount())
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, value -> stats.apply(value).evictionCount())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", cache, size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
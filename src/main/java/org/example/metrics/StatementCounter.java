@@ -0,0 +1,34 @@
+package org.example.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ Counts the SQL statements Hibernate prepares on the current thread. Registered through the
+ hibernate.session_factory.statement_inspector property, {@link StatementCountFilter} reads and resets the
+ count around every request. Statements issued by the bid writer and other background threads are not
+ attributed to any request.
+ **/
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     Resets the count of the current thread.
+     **/
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     Gets the number of statements prepared on the current thread since the last reset.
+     @return the statement count
+     **/
+    public static int get() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.repositories;
+
+import org.example.entities.Bid;
+
+import java.util.List;
+
+public interface BidRepositoryCustom {
+    /**
+     Inserts bids with multi-row insert statements, bypassing the persistence context.
+     @param bids the bids to insert, each referencing its job and bidder by ID
+     **/
+    void insertAll(List<Bid> bids);
+}
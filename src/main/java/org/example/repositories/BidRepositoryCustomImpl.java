@@ -0,0 +1,40 @@
+package org.example.repositories;
+
+import lombok.AllArgsConstructor;
+import org.example.entities.Bid;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@AllArgsConstructor
+public class BidRepositoryCustomImpl implements BidRepositoryCustom {
+    private static final String INSERT_PREFIX = "insert into bid (id, amount, bid_time, job_id, bidder_id) values ";
+    // Every row draws its own sequence value, which never falls in a block allocated by Hibernate's pooled optimizer
+    private static final String ROW = "(nextval('bid_seq'), ?, ?, ?, ?)";
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Bid> bids) {
+        for (int from = 0; from < bids.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Bid> chunk = bids.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, bids.size()));
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + chunk.size() * (ROW.length() + 2))
+                    .append(INSERT_PREFIX);
+            Object[] args = new Object[chunk.size() * 4];
+            for (int i = 0; i < chunk.size(); i++) {
+                Bid bid = chunk.get(i);
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(ROW);
+                args[i * 4] = bid.getAmount();
+                args[i * 4 + 1] = Timestamp.valueOf(bid.getBidTime());
+                args[i * 4 + 2] = bid.getJob().getId();
+                args[i * 4 + 3] = bid.getBidder().getId();
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+}
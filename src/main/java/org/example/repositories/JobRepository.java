@@ -1,16 +1,117 @@
 package org.example.repositories;
 
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobSummaryDTO;
 import org.example.entities.Job;
 import org.example.enums.JobStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
-    List<Job> findTop10ByOrderByPostedAtDesc();
+public interface JobRepository extends JpaRepository<Job, Long>, JobRepositoryCustom {
+    String LISTING = "select new org.example.dtos.JobListingDTO(j.id, j.description, j.requirements, j.poster.id, "
+            + "j.expireAt, j.postedAt, j.bidCount) from job j ";
+
     List<Job> findAllByExpireAtBeforeAndStatus(LocalDateTime dateTime, JobStatus status);
-    List<Job> findTop10ByStatusOrderByBidCountDesc(JobStatus status);
+
+    @Query(LISTING + "order by j.postedAt desc, j.id desc")
+    List<JobListingDTO> findRecentListings(Limit limit);
+
+    @Query(LISTING + "where j.id in :ids")
+    List<JobListingDTO> findListingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(LISTING + "where j.id = :id")
+    Optional<JobListingDTO> findListingById(@Param("id") Long id);
+
+    @Query("select new org.example.dtos.JobSummaryDTO(j.id, j.lowestBidAmount, j.bidCount, j.expireAt, j.status) "
+            + "from job j where j.id = :id")
+    Optional<JobSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    // The lowest bid wins, the earliest one on a tie, as when the job is closed
+    @Query(value = "select b.bidder_id from bid b where b.job_id = :id "
+            + "order by b.amount asc, b.bid_time asc, b.id asc limit 1", nativeQuery = true)
+    Optional<Long> findLeadingBidderId(@Param("id") Long id);
+
+    @Query("select new org.example.dtos.JobSummaryDTO(j.id, j.lowestBidAmount, j.bidCount, j.expireAt, j.status) "
+            + "from job j where j.status = :status")
+    List<JobSummaryDTO> findAllSummariesByStatus(@Param("status") JobStatus status);
+
+    @Query("select new org.example.dtos.JobSummaryDTO(j.id, j.lowestBidAmount, j.bidCount, j.expireAt, j.status) "
+            + "from job j where j.status = :status and j.expireAt < :at order by j.expireAt, j.id")
+    List<JobSummaryDTO> findExpiredSummaries(@Param("status") JobStatus status, @Param("at") LocalDateTime at,
+                                             Limit limit);
+
+    // Next page of findExpiredSummaries, after the last job of the previous one
+    @Query("select new org.example.dtos.JobSummaryDTO(j.id, j.lowestBidAmount, j.bidCount, j.expireAt, j.status) "
+            + "from job j where j.status = :status and j.expireAt < :at "
+            + "and (j.expireAt > :afterExpireAt or (j.expireAt = :afterExpireAt and j.id > :afterId)) "
+            + "order by j.expireAt, j.id")
+    List<JobSummaryDTO> findExpiredSummariesAfter(@Param("status") JobStatus status, @Param("at") LocalDateTime at,
+                                                  @Param("afterExpireAt") LocalDateTime afterExpireAt,
+                                                  @Param("afterId") Long afterId, Limit limit);
+
+    @Query("select min(j.expireAt) from job j where j.status = :status and j.expireAt < :at")
+    Optional<LocalDateTime> findOldestExpiry(@Param("status") JobStatus status, @Param("at") LocalDateTime at);
+
+    /**
+     Claims a batch of expired open jobs for closing, oldest first. Jobs locked by another node are skipped,
+     the locks are held until the calling transaction ends.
+     @param at the time the jobs must have expired before
+     @param limit the maximum number of jobs to claim
+     @return the IDs of the claimed jobs
+     **/
+    @Query(value = "select id from job where status = 'OPEN' and expire_at < :at order by expire_at limit :limit "
+            + "for update skip locked", nativeQuery = true)
+    List<Long> claimExpiredJobs(@Param("at") LocalDateTime at, @Param("limit") int limit);
+
+    /**
+     Claims the given jobs for closing if they are still open and expired. Jobs locked by another node or by a bid
+     write are skipped, the locks are held until the calling transaction ends.
+     @param ids the IDs of the jobs
+     @param at the time the jobs must have expired before
+     @return the IDs of the claimed jobs
+     **/
+    @Query(value = "select id from job where id in (:ids) and status = 'OPEN' and expire_at < :at "
+            + "for update skip locked", nativeQuery = true)
+    List<Long> claimOpenJobs(@Param("ids") List<Long> ids, @Param("at") LocalDateTime at);
+
+    @Query("select j.id from job j where j.id in :ids and j.status = :status")
+    List<Long> findIdsByStatus(@Param("ids") List<Long> ids, @Param("status") JobStatus status);
+
+    /**
+     Closes the given jobs that are open and expired, and assigns each the bidder of its lowest bid, in one statement.
+     Ties go to the earliest bid time and then to the lowest bid ID: IDs are handed out in blocks per node and bids are
+     written in batches, so the ID order alone is not the order the bids were placed in.
+     @param ids the IDs of the jobs
+     @param at the time the jobs must have expired by
+     @return the number of jobs closed
+     **/
+    @Modifying
+    @Query(value = "update job set status = 'CLOSED', winner_id = (select b.bidder_id from bid b where b.job_id = job.id "
+            + "order by b.amount asc, b.bid_time asc, b.id asc limit 1) "
+            + "where id in (:ids) and status = 'OPEN' and expire_at <= :at", nativeQuery = true)
+    int closeJobs(@Param("ids") List<Long> ids, @Param("at") LocalDateTime at);
+
+    /**
+     Atomically folds bids into a job's aggregates, but only while the auction is open at the given time.
+     @param id the ID of the job
+     @param amount the lowest amount among the bids
+     @param count the number of bids
+     @param at the time the bids were placed
+     @return 1 if the job was open and updated, 0 if it does not exist, is closed or has expired
+     **/
+    @Modifying
+    @Query(value = "update job set lowest_bid_amount = least(lowest_bid_amount, :amount), bid_count = bid_count + :count "
+            + "where id = :id and status = 'OPEN' and expire_at > :at", nativeQuery = true)
+    int applyBids(@Param("id") Long id, @Param("amount") Double amount, @Param("count") Double count,
+                  @Param("at") LocalDateTime at);
 }
@@ -0,0 +1,37 @@
+package org.example.repositories;
+
+import org.example.dtos.JobListingDTO;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JobRepositoryCustom {
+    /**
+     Keyset page of jobs, newest or most bids first. Only the filters that are set end up in the statement, and the
+     cursor is compared as a row value, so the index on (posted_at, id) serves the newest first listing directly.
+     @param sort the order of the listing
+     @param status only jobs with this status, or null for any
+     @param posterId only jobs of this poster, or null for any
+     @param expiresAfter only jobs expiring at or after this time, or null
+     @param expiresBefore only jobs expiring before this time, or null
+     @param cursorKey the sort key of the last job of the previous page, a LocalDateTime or a Double, or null
+     @param cursorId the ID of the last job of the previous page
+     @param limit the maximum number of jobs to return
+     @return the jobs after the cursor
+     **/
+    List<JobListingDTO> findPage(JobSort sort, JobStatus status, Long posterId, LocalDateTime expiresAfter,
+                                 LocalDateTime expiresBefore, Object cursorKey, Long cursorId, int limit);
+
+    /**
+     Full-text search over job descriptions and requirements, best matches first. Served by the search index
+     created by {@link org.example.config.JobSearchIndex}, only available on PostgreSQL.
+     @param query the search terms, in web search syntax: quoted phrases, OR and -excluded terms
+     @param status only jobs with this status, or null for any
+     @param offset the number of matches to skip
+     @param limit the maximum number of matches to return
+     @return the matching jobs
+     **/
+    List<JobListingDTO> search(String query, JobStatus status, int offset, int limit);
+}
@@ -0,0 +1,79 @@
+package org.example.repositories;
+
+import lombok.AllArgsConstructor;
+import org.example.dtos.JobListingDTO;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@AllArgsConstructor
+public class JobRepositoryCustomImpl implements JobRepositoryCustom {
+    private static final String LISTING = "select j.id, j.description, j.requirements, j.poster_id, j.expire_at, "
+            + "j.posted_at, j.bid_count from job j";
+    private static final String SEARCH = LISTING + ", websearch_to_tsquery('english', ?) query "
+            + "where j.search_vector @@ query ";
+    // The GIN index finds the matches, ranking only touches those
+    private static final String ORDER = "order by ts_rank_cd(j.search_vector, query) desc, j.id desc limit ? offset ?";
+    private static final RowMapper<JobListingDTO> LISTING_ROW = (resultSet, row) -> new JobListingDTO(
+            resultSet.getLong("id"),
+            resultSet.getString("description"),
+            resultSet.getString("requirements"),
+            resultSet.getObject("poster_id", Long.class),
+            toLocalDateTime(resultSet.getTimestamp("expire_at")),
+            toLocalDateTime(resultSet.getTimestamp("posted_at")),
+            resultSet.getObject("bid_count", Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<JobListingDTO> findPage(JobSort sort, JobStatus status, Long posterId, LocalDateTime expiresAfter,
+                                        LocalDateTime expiresBefore, Object cursorKey, Long cursorId, int limit) {
+        String sortColumn = sort == JobSort.BIDS ? "j.bid_count" : "j.posted_at";
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (status != null) {
+            // Written out so generic plans can match the partial index of closed jobs, an enum name is safe to inline
+            conditions.add("j.status = '" + status.name() + "'");
+        }
+        if (posterId != null) {
+            conditions.add("j.poster_id = ?");
+            parameters.add(posterId);
+        }
+        if (expiresAfter != null) {
+            conditions.add("j.expire_at >= ?");
+            parameters.add(expiresAfter);
+        }
+        if (expiresBefore != null) {
+            conditions.add("j.expire_at < ?");
+            parameters.add(expiresBefore);
+        }
+        if (cursorKey != null) {
+            conditions.add("(" + sortColumn + ", j.id) < (?, ?)");
+            parameters.add(cursorKey);
+            parameters.add(cursorId);
+        }
+        parameters.add(limit);
+
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        return jdbcTemplate.query(LISTING + where + " order by " + sortColumn + " desc, j.id desc limit ?",
+                LISTING_ROW, parameters.toArray());
+    }
+
+    @Override
+    public List<JobListingDTO> search(String query, JobStatus status, int offset, int limit) {
+        if (status == null) {
+            return jdbcTemplate.query(SEARCH + ORDER, LISTING_ROW, query, limit, offset);
+        }
+        return jdbcTemplate.query(SEARCH + "and j.status = ? " + ORDER, LISTING_ROW, query, status.name(), limit, offset);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.repositories;
+
+import io.r2dbc.spi.Readable;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ Non-blocking counterpart of the read queries of {@link JobRepository}, running the same SQL over R2DBC.
+ Only active with the reactive profile.
+ **/
+@Repository
+@Profile("reactive")
+public class ReactiveJobRepository {
+    private static final String LISTING = "select id, description, requirements, poster_id, expire_at, posted_at, bid_count from job ";
+    private static final String SUMMARY = "select id, lowest_bid_amount, bid_count, expire_at, status from job ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveJobRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<JobListingDTO> findRecentListings(int limit) {
+        return databaseClient.sql(LISTING + "order by posted_at desc, id desc limit :limit")
+                .bind("limit", limit)
+                .map(ReactiveJobRepository::toListing)
+                .all();
+    }
+
+    public Mono<JobListingDTO> findListingById(Long id) {
+        return databaseClient.sql(LISTING + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveJobRepository::toListing)
+                .one();
+    }
+
+    public Mono<JobSummaryDTO> findSummaryById(Long id) {
+        return databaseClient.sql(SUMMARY + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveJobRepository::toSummary)
+                .one();
+    }
+
+    /**
+     Keyset page of jobs, same semantics as {@link JobRepositoryCustom#findPage}. Only the filters that are set end
+     up in the statement.
+     @param sort the order of the listing
+     @param cursorKey the sort key of the last job of the previous page, a LocalDateTime or a Double, or null
+     @param cursorId the ID of the last job of the previous page
+     @param limit the maximum number of jobs to return
+     @return the jobs after the cursor
+     **/
+    public Flux<JobListingDTO> findPage(JobSort sort, JobStatus status, Long posterId, LocalDateTime expiresAfter,
+                                        LocalDateTime expiresBefore, Object cursorKey, Long cursorId, int limit) {
+        String sortColumn = sort == JobSort.BIDS ? "bid_count" : "posted_at";
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (status != null) {
+            // Written out so generic plans can match the partial index of closed jobs, an enum name is safe to inline
+            conditions.add("status = '" + status.name() + "'");
+        }
+        if (posterId != null) {
+            conditions.add("poster_id = :posterId");
+            parameters.put("posterId", posterId);
+        }
+        if (expiresAfter != null) {
+            conditions.add("expire_at >= :expiresAfter");
+            parameters.put("expiresAfter", expiresAfter);
+        }
+        if (expiresBefore != null) {
+            conditions.add("expire_at < :expiresBefore");
+            parameters.put("expiresBefore", expiresBefore);
+        }
+        if (cursorKey != null) {
+            conditions.add("(" + sortColumn + ", id) < (:cursorKey, :cursorId)");
+            parameters.put("cursorKey", cursorKey);
+            parameters.put("cursorId", cursorId);
+        }
+        parameters.put("limit", limit);
+
+        String where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions) + " ";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(LISTING + where
+                + "order by " + sortColumn + " desc, id desc limit :limit");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(ReactiveJobRepository::toListing).all();
+    }
+
+    private static JobListingDTO toListing(Readable row) {
+        return JobListingDTO.builder()
+                .jobId(row.get("id", Long.class))
+                .description(row.get("description", String.class))
+                .requirements(row.get("requirements", String.class))
+                .posterId(row.get("poster_id", Long.class))
+                .expireAt(row.get("expire_at", LocalDateTime.class))
+                .postedAt(row.get("posted_at", LocalDateTime.class))
+                .bidCount(row.get("bid_count", Double.class))
+                .build();
+    }
+
+    private static JobSummaryDTO toSummary(Readable row) {
+        return JobSummaryDTO.builder()
+                .jobId(row.get("id", Long.class))
+                .lowestBidAmount(row.get("lowest_bid_amount", Double.class))
+                .bidCount(row.get("bid_count", Double.class))
+                .expireAt(row.get("expire_at", LocalDateTime.class))
+                .status(JobStatus.valueOf(row.get("status", String.class)))
+                .build();
+    }
+}
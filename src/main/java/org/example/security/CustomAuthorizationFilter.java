@@ -1,17 +1,15 @@
 package org.example.security;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.example.utils.JwtTokenUtil;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -24,7 +22,7 @@ import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 @AllArgsConstructor
 public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenUtil jwtTokenUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CustomUserDetailsService userDetailsService;
 
     /**
@@ -39,8 +37,9 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String servletPath = request.getServletPath();
 
-        // Bypass authentication for health check and auth endpoints
+        // Bypass authentication for health check, auth and actuator endpoints
         if (servletPath.startsWith("/api/health") ||
+                servletPath.startsWith("/actuator") ||
                 servletPath.startsWith("/api/auth/register") ||
                 servletPath.startsWith("/api/auth/login")) {
             log.debug("Skipping authentication for {}", servletPath);
@@ -55,14 +54,13 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith(tokenType)) {
             String accessToken = authorizationHeader.substring(tokenType.length());
             try {
-                // Decode JWT token
-                DecodedJWT decodedJWT = jwtTokenUtil.decodeJWT(accessToken);
-                String userName = decodedJWT.getSubject();
+                // Verify the token, or reuse an earlier verification
+                String userName = verifiedTokenCache.authenticate(accessToken);
 
-                // Load user details and set the authentication context
-                User user = (User) userDetailsService.loadUserByUsername(userName);
+                // Take the authorities from the cached principal, which is invalidated when a role changes
+                UserDetails user = userDetailsService.loadUserByUsername(userName);
                 UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword(), user.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(user.getUsername(), null, user.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 log.debug("User {} authenticated successfully", userName);
                 filterChain.doFilter(request, response);
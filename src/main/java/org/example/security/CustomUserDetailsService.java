@@ -51,7 +51,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
 
         // Log successful user retrieval and return user details
-        log.info("User with username {} successfully loaded with roles: {}", username, roles);
+        log.debug("User with username {} successfully loaded with roles: {}", username, roles);
         return new User(actor.getUsername(), actor.getPassword(), authorities);
     }
 }
\ No newline at end of file
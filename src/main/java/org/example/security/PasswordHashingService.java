@@ -0,0 +1,131 @@
+package org.example.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.example.exceptions.MarketPlaceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ Runs password hashing and verification on a dedicated pool sized to the core count, so a login storm
+ cannot pin the request threads serving bids. Requests are shed up front when the queue is full or when
+ the expected wait, estimated from the queue depth and the recent hashing time, exceeds the maximum wait.
+ **/
+@Log4j2
+@Service
+public class PasswordHashingService {
+    private static final String OVERLOADED = "Too many login attempts right now, please retry.";
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxWaitMs;
+    private volatile double averageHashMs;
+
+    public PasswordHashingService(PasswordEncoder encoder,
+                                  @Value("${auth.bcrypt.threads:0}") int threads,
+                                  @Value("${auth.bcrypt.queue-capacity:256}") int queueCapacity,
+                                  @Value("${auth.bcrypt.max-wait-ms:2000}") long maxWaitMs) {
+        this.encoder = encoder;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxWaitMs = maxWaitMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "password-hasher-" + threadIndex.getAndIncrement()));
+    }
+
+    /**
+     Hashes a raw password.
+     @param rawPassword the raw password
+     @return the encoded password
+     **/
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     Verifies a raw password against an encoded one.
+     @param rawPassword the raw password
+     @param encodedPassword the stored encoded password
+     @return true if the password matches
+     **/
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     Checks whether an encoded password was hashed with a weaker cost than the configured one.
+     @param encodedPassword the stored encoded password
+     @return true if the password should be hashed again
+     **/
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     Gets the number of hashing tasks waiting for a thread.
+     @return the queue depth
+     **/
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T run(Callable<T> task) {
+        // Shed load before queueing a task that would not start within the maximum wait anyway
+        double expectedWaitMs = (double) executor.getQueue().size() / threads * averageHashMs;
+        if (expectedWaitMs > maxWaitMs) {
+            throw overloaded("Expected password hashing wait of " + Math.round(expectedWaitMs) + " ms");
+        }
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException ex) {
+            throw overloaded("Password hashing queue is full");
+        }
+        try {
+            return result.get(maxWaitMs + Math.round(averageHashMs), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw overloaded("Interrupted while waiting on password hashing");
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            throw overloaded("Timed out waiting on password hashing");
+        } catch (ExecutionException ex) {
+            throw new MarketPlaceException(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong!", String.valueOf(ex.getCause()));
+        }
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long started = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            double elapsedMs = (System.nanoTime() - started) / 1_000_000.0;
+            // Exponentially weighted so the estimate follows cost factor changes and CPU contention
+            averageHashMs = averageHashMs == 0 ? elapsedMs : averageHashMs * 0.9 + elapsedMs * 0.1;
+        }
+    }
+
+    private static MarketPlaceException overloaded(String internalMessage) {
+        log.warn("Shedding password hashing request: {}", internalMessage);
+        return new MarketPlaceException(HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED, internalMessage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
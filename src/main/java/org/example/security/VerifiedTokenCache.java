@@ -0,0 +1,120 @@
+package org.example.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.example.utils.JwtTokenUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Bounded cache of verified access tokens keyed by the SHA-256 hash of the token. Each entry only holds the
+ username and expiry of its token and expires together with it, so a cached token is never accepted past its
+ exp claim. Roles are not taken from the token, they come from the cached user principal, which is invalidated
+ when a role changes.
+ **/
+@Log4j2
+@Component
+public class VerifiedTokenCache {
+    private final Cache<String, VerifiedToken> cache;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final MeterRegistry meterRegistry;
+
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil, MeterRegistry meterRegistry,
+                              @Value("${cache.verified-tokens.maximum-size:100000}") long maximumSize) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAtMs() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     Authenticates an access token, verifying its signature and claims only on the first use.
+     @param accessToken the raw access token
+     @return the username of the token's subject
+     @throws JwtException if the token is invalid or expired
+     **/
+    public String authenticate(String accessToken) {
+        return cache.get(hash(accessToken), key -> verify(accessToken)).username();
+    }
+
+    /**
+     Gets the hit, miss and eviction statistics of the cache.
+     @return the cache statistics
+     **/
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     Gets the approximate number of cached tokens.
+     @return the estimated size
+     **/
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private VerifiedToken verify(String accessToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            VerifiedToken token = decode(accessToken);
+            outcome = "valid";
+            return token;
+        } finally {
+            sample.stop(meterRegistry.timer("marketplace.auth.token.decode", "outcome", outcome));
+        }
+    }
+
+    private VerifiedToken decode(String accessToken) {
+        DecodedJWT decodedJWT = jwtTokenUtil.decodeJWT(accessToken);
+        if (decodedJWT.getSubject() == null || decodedJWT.getExpiresAt() == null
+                || !"access".equals(decodedJWT.getClaim("token_type").asString())) {
+            throw new JwtException("Access token is missing required claims.");
+        }
+        log.debug("Verified access token of user: {}", decodedJWT.getSubject());
+        return new VerifiedToken(decodedJWT.getSubject(), decodedJWT.getExpiresAt().getTime());
+    }
+
+    private static String hash(String accessToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(accessToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record VerifiedToken(String username, long expiresAtMs) {
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.example.config.BlockingTaskThreads;
+import org.example.dtos.JobSummaryDTO;
+import org.example.engine.TimingWheel;
+import org.example.enums.JobStatus;
+import org.example.repositories.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ Closes auctions as soon as they expire. Expiry times are kept on a hierarchical timing wheel advanced
+ by a single ticker thread, expired jobs are handed in chunks to a bounded pool of closers. Jobs that cannot be
+ queued for closing are left to the periodic sweep in {@link JobService#closeExpiredJobs()}.
+ **/
+@Service
+@Log4j2
+public class AuctionCloseScheduler {
+    private final JobClosingEngine jobClosingEngine;
+    private final JobRepository jobRepository;
+    private final Queue<Registration> registrations = new ConcurrentLinkedQueue<>();
+    private final TimingWheel wheel;
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor closers;
+    private final AtomicInteger pendingClose = new AtomicInteger();
+    private volatile int scheduled;
+
+    public AuctionCloseScheduler(JobClosingEngine jobClosingEngine, JobRepository jobRepository,
+                                 BlockingTaskThreads blockingTaskThreads,
+                                 @Value("${auction.closing.tick-ms:10}") long tickMs,
+                                 @Value("${auction.closing.threads:4}") int threads,
+                                 @Value("${auction.closing.queue-capacity:10000}") int queueCapacity) {
+        this.jobClosingEngine = jobClosingEngine;
+        this.jobRepository = jobRepository;
+        this.wheel = new TimingWheel(tickMs, System.currentTimeMillis());
+        // The pool stays bounded on virtual threads, it caps the connections the closers hold at once
+        this.closers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), blockingTaskThreads.factory("auction-closer-"));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "auction-close-ticker"));
+        this.ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     Schedules a job to be closed at its expiry time. Jobs that already expired are closed on the next tick.
+     @param jobId the ID of the job
+     @param expireAt the expiry time of the job
+     **/
+    public void register(Long jobId, LocalDateTime expireAt) {
+        if (jobId == null || expireAt == null) {
+            return;
+        }
+        registrations.add(new Registration(jobId, expireAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    /**
+     Gets the number of open jobs waiting on the timing wheel for their expiry, as of the last tick.
+     @return the number of scheduled jobs
+     **/
+    public int getScheduledCount() {
+        return scheduled;
+    }
+
+    /**
+     Gets the number of expired jobs handed to the closers and not closed yet.
+     @return the number of jobs pending close
+     **/
+    public int getPendingCloseCount() {
+        return pendingClose.get();
+    }
+
+    /**
+     Rebuilds the schedule from the open jobs in the database once the application has started.
+     **/
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<JobSummaryDTO> openJobs = jobRepository.findAllSummariesByStatus(JobStatus.OPEN);
+        openJobs.forEach(summary -> register(summary.getJobId(), summary.getExpireAt()));
+        log.info("Scheduled {} open jobs for closing.", openJobs.size());
+    }
+
+    private void tick() {
+        try {
+            Registration registration;
+            while ((registration = registrations.poll()) != null) {
+                wheel.schedule(registration.jobId(), registration.expireAtMs());
+            }
+            List<Long> expired = wheel.advance(System.currentTimeMillis());
+            scheduled = wheel.size();
+            int chunkSize = jobClosingEngine.getChunkSize();
+            for (int from = 0; from < expired.size(); from += chunkSize) {
+                List<Long> jobIds = List.copyOf(expired.subList(from, Math.min(from + chunkSize, expired.size())));
+                pendingClose.addAndGet(jobIds.size());
+                try {
+                    closers.execute(() -> close(jobIds));
+                } catch (RejectedExecutionException ex) {
+                    pendingClose.addAndGet(-jobIds.size());
+                    log.warn("Auction close queue is full, leaving jobs to the periodic sweep.");
+                }
+            }
+        } catch (RuntimeException ex) {
+            // An exception would cancel the periodic task, keep the ticker alive
+            log.error("Auction close tick failed.", ex);
+        }
+    }
+
+    private void close(List<Long> jobIds) {
+        try {
+            jobClosingEngine.closeChunk(jobIds);
+        } catch (RuntimeException ex) {
+            log.error("Failed to close job IDs: {}, leaving them to the periodic sweep.", jobIds, ex);
+        } finally {
+            pendingClose.addAndGet(-jobIds.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        closers.shutdown();
+        try {
+            closers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Registration(Long jobId, long expireAtMs) {
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.example.cache.JobSummaryCache;
+import org.example.config.BlockingTaskThreads;
+import org.example.dtos.AuctionUpdateDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.enums.JobStatus;
+import org.example.exceptions.MarketPlaceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ Pushes live auction updates to subscribers over Server-Sent Events. Changes are coalesced per job and
+ fanned out on a fixed sender pool. Each subscriber has a small bounded buffer, a subscriber whose buffer
+ overflows is a slow consumer and is disconnected instead of slowing everyone else down.
+ **/
+@Service
+@Log4j2
+public class AuctionFeedService {
+    private static final String JOB_NOT_FOUND = "Job not found";
+    private static final Object HEARTBEAT = new Object();
+    private static final Object END_OF_STREAM = new Object();
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final JobSummaryCache jobSummaryCache;
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+
+    public AuctionFeedService(JobSummaryCache jobSummaryCache, BlockingTaskThreads blockingTaskThreads,
+                              @Value("${auction.feed.sender-threads:0}") int senderThreads,
+                              @Value("${auction.feed.buffer-size:16}") int bufferSize,
+                              @Value("${auction.feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.jobSummaryCache = jobSummaryCache;
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors() * 2;
+        this.senders = Executors.newFixedThreadPool(threads, blockingTaskThreads.factory("auction-feed-"));
+    }
+
+    /**
+     Subscribes to the live updates of a job. The current state is sent immediately.
+     @param jobId the ID of the job
+     @return the emitter streaming the updates
+     **/
+    public SseEmitter subscribe(Long jobId) {
+        JobSummaryDTO summary = jobSummaryCache.get(jobId);
+        if (summary == null) {
+            throw new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(jobId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        // Added under the lock of the job's entry, so it never lands in a set the last leaving subscriber just removed
+        subscribers.compute(jobId, (id, jobSubscribers) -> {
+            Set<Subscriber> joined = jobSubscribers != null ? jobSubscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            joined.add(subscriber);
+            return joined;
+        });
+        subscriberCount.incrementAndGet();
+        log.debug("New subscriber for job ID: {}, {} subscribers in total.", jobId, subscriberCount.get());
+
+        deliver(subscriber, toUpdate(summary));
+        if (summary.getStatus() == JobStatus.CLOSED) {
+            deliver(subscriber, END_OF_STREAM);
+        }
+        return emitter;
+    }
+
+    /**
+     Signals that the state of a job changed. Updates are coalesced and sent on the next dispatch.
+     @param jobId the ID of the job
+     **/
+    public void publish(Long jobId) {
+        if (subscribers.containsKey(jobId)) {
+            dirtyJobs.add(jobId);
+        }
+    }
+
+    /**
+     Gets the number of open subscriptions.
+     @return the subscriber count
+     **/
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     Sends one coalesced update per changed job to all of its subscribers.
+     **/
+    @Scheduled(fixedDelayString = "${auction.feed.coalesce-ms:200}")
+    public void dispatch() {
+        Iterator<Long> iterator = dirtyJobs.iterator();
+        while (iterator.hasNext()) {
+            Long jobId = iterator.next();
+            iterator.remove();
+            Set<Subscriber> jobSubscribers = subscribers.get(jobId);
+            JobSummaryDTO summary = jobSummaryCache.get(jobId);
+            if (jobSubscribers == null || summary == null) {
+                continue;
+            }
+            AuctionUpdateDTO update = toUpdate(summary);
+            boolean closed = summary.getStatus() == JobStatus.CLOSED;
+            for (Subscriber subscriber : jobSubscribers) {
+                deliver(subscriber, update);
+                if (closed) {
+                    deliver(subscriber, END_OF_STREAM);
+                }
+            }
+        }
+    }
+
+    /**
+     Sends a comment to every subscriber so that dead connections are detected and released.
+     **/
+    @Scheduled(fixedRateString = "${auction.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(jobSubscribers -> jobSubscribers.forEach(subscriber -> deliver(subscriber, HEARTBEAT)));
+    }
+
+    private void deliver(Subscriber subscriber, Object event) {
+        if (!subscriber.buffer().offer(event)) {
+            log.warn("Dropping slow subscriber of job ID: {}", subscriber.jobId());
+            remove(subscriber);
+            subscriber.emitter().complete();
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object event;
+            while ((event = subscriber.buffer().poll()) != null) {
+                if (event == END_OF_STREAM) {
+                    remove(subscriber);
+                    subscriber.emitter().complete();
+                    return;
+                } else if (event == HEARTBEAT) {
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter().send(SseEmitter.event().name("auction").data(event));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Subscriber of job ID: {} disconnected.", subscriber.jobId());
+            remove(subscriber);
+            subscriber.buffer().clear();
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // An event may have been buffered after the last poll but before the flag was cleared
+        if (!subscriber.buffer().isEmpty() && subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        // The set is dropped under the same lock subscribe() adds under
+        subscribers.computeIfPresent(subscriber.jobId(), (id, jobSubscribers) -> {
+            if (jobSubscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return jobSubscribers.isEmpty() ? null : jobSubscribers;
+        });
+    }
+
+    private static AuctionUpdateDTO toUpdate(JobSummaryDTO summary) {
+        Duration remaining = summary.getExpireAt() == null ? Duration.ZERO
+                : Duration.between(LocalDateTime.now(), summary.getExpireAt());
+        return AuctionUpdateDTO.builder()
+                .jobId(summary.getJobId())
+                .lowestBidAmount(summary.getLowestBidAmount())
+                .bidCount(summary.getBidCount())
+                .timeRemaining(remaining.isNegative() ? Duration.ZERO : remaining)
+                .status(summary.getStatus())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(jobSubscribers -> jobSubscribers.forEach(subscriber -> subscriber.emitter().complete()));
+    }
+
+    private record Subscriber(Long jobId, SseEmitter emitter, BlockingQueue<Object> buffer, AtomicBoolean draining) {
+        private Subscriber(Long jobId, SseEmitter emitter, BlockingQueue<Object> buffer) {
+            this(jobId, emitter, buffer, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package org.example.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.example.dtos.BidDTO;
+import org.example.entities.Actor;
+import org.example.entities.Bid;
+import org.example.entities.Job;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.BidRepository;
+import org.example.repositories.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ Write-behind pipeline for bids accepted by the auction engine. Bids are buffered on a bounded queue
+ and written by a single flusher thread in multi-row batches, one transaction per batch. A batch is
+ flushed once it reaches the configured size or once its oldest bid has waited for the flush interval.
+ Tasks queued between the bids run on the flusher once the bids queued before them are written.
+ Also offers a synchronous write-through path for deployments running without the auction engine.
+ **/
+@Service
+@Log4j2
+public class BidPersistenceService {
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final String AUCTION_EXPIRED = "The auction has expired.";
+
+    private final BidRepository bidRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Queued> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final boolean durableAck;
+    private final Thread flusher;
+    // A lock rather than a monitor, so virtual threads waiting in flush() do not pin their carrier
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progress = progressLock.newCondition();
+    private long offered;
+    private long processed;
+    private volatile boolean running = true;
+
+    public BidPersistenceService(BidRepository bidRepository, JobRepository jobRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${auction.persistence.queue-capacity:100000}") int queueCapacity,
+                                 @Value("${auction.persistence.batch-size:500}") int batchSize,
+                                 @Value("${auction.persistence.flush-interval-ms:5}") long flushIntervalMs,
+                                 @Value("${auction.persistence.offer-timeout-ms:50}") long offerTimeoutMs,
+                                 @Value("${auction.persistence.ack-mode:durable}") String ackMode) {
+        this.bidRepository = bidRepository;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.durableAck = !"memory".equalsIgnoreCase(ackMode);
+        this.flusher = new Thread(this::run, "bid-writer");
+        this.flusher.start();
+        log.info("Bid write-behind started with batch size {}, flush interval {} ms and {} acknowledgement.",
+                batchSize, flushIntervalMs, durableAck ? "durable" : "memory");
+    }
+
+    /**
+     Queues an accepted bid for persistence. Blocks for at most the offer timeout when the queue is full,
+     which pushes back on the auction engine.
+     @param jobId the ID of the job
+     @param amount the amount of the bid
+     @param bidderId the ID of the bidder
+     @param bidTime the time the bid was accepted
+     @return a future completed once the bid is durable (or immediately in memory mode), or null if the queue is full
+     **/
+    public CompletableFuture<Void> enqueue(Long jobId, double amount, Long bidderId, LocalDateTime bidTime) {
+        PendingBid pending = new PendingBid(toBid(jobId, amount, bidderId, bidTime), new CompletableFuture<>());
+        if (!offer(pending)) {
+            log.warn("Bid write-behind queue is full, rejecting bid for job ID: {}", jobId);
+            return null;
+        }
+        return durableAck ? pending.ack() : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     Queues a task behind the bids queued so far. It runs on the flusher once those bids are written or have failed
+     permanently, and before any bid queued after it is written, so a read of the database sees exactly the bids
+     queued before it. Blocks for at most the offer timeout when the queue is full. Dependent stages of the result
+     run on the flusher unless made asynchronous, they must not block.
+     @param task the task, a short read of the database
+     @return a future completed with the result of the task, or null if the queue is full
+     **/
+    public <T> CompletableFuture<T> afterQueued(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!offer(new QueuedTask(() -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        }))) {
+            return null;
+        }
+        return result;
+    }
+
+    private boolean offer(Queued queued) {
+        try {
+            if (!queue.offer(queued, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        progressLock.lock();
+        try {
+            offered++;
+        } finally {
+            progressLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     Writes a single bid synchronously. The job aggregates are updated and the auction is validated
+     in one conditional statement, and the bid is only inserted if that statement matched an open job.
+     @param jobId the ID of the job
+     @param amount the amount of the bid
+     @param bidderId the ID of the bidder
+     @param bidTime the time the bid was placed
+     @return true if the bid was written, false if the job does not exist, is closed or has expired
+     **/
+    @Transactional
+    public boolean writeThrough(Long jobId, double amount, Long bidderId, LocalDateTime bidTime) {
+        if (jobRepository.applyBids(jobId, amount, 1.0, bidTime) == 0) {
+            return false;
+        }
+        bidRepository.insertAll(List.of(toBid(jobId, amount, bidderId, bidTime)));
+        return true;
+    }
+
+    /**
+     Writes bids synchronously in one transaction. The bids of each job are folded into its aggregates with one
+     conditional statement per job, and the bids of the jobs that matched are inserted in multi-row statements.
+     @param bids the bids to write
+     @param bidTime the time the bids were placed
+     @return the IDs of the jobs whose bids were not written as they do not exist, are closed or have expired
+     **/
+    @Transactional
+    public Set<Long> writeThroughAll(List<BidDTO> bids, LocalDateTime bidTime) {
+        // Jobs are updated in ID order so concurrent bulk writes lock their rows in the same order
+        Map<Long, BidAggregate> aggregates = new TreeMap<>();
+        List<Bid> rows = new ArrayList<>(bids.size());
+        for (BidDTO dto : bids) {
+            Bid bid = toBid(dto.getJobId(), dto.getAmount(), dto.getBidderId(), bidTime);
+            aggregates.computeIfAbsent(dto.getJobId(), id -> new BidAggregate()).add(bid);
+            rows.add(bid);
+        }
+        Set<Long> rejected = new HashSet<>();
+        aggregates.forEach((jobId, aggregate) -> {
+            if (jobRepository.applyBids(jobId, aggregate.lowestAmount, aggregate.count, bidTime) == 0) {
+                rejected.add(jobId);
+            }
+        });
+        bidRepository.insertAll(rows.stream()
+                .filter(bid -> !rejected.contains(bid.getJob().getId()))
+                .toList());
+        return rejected;
+    }
+
+    /**
+     Gets the number of accepted bids waiting to be written, along with the tasks queued between them.
+     @return the queue depth
+     **/
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     Blocks until every bid queued so far has been written or has failed permanently, and every task queued so far
+     has run.
+     **/
+    public void flush() {
+        progressLock.lock();
+        try {
+            long target = offered;
+            while (processed < target && flusher.isAlive()) {
+                progress.await(flushIntervalMs + 100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Queued first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Queued next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                complete(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    // Writes the bids between the tasks of the batch in order, each task once the bids before it are written
+    private void process(List<Queued> batch) {
+        List<PendingBid> bids = new ArrayList<>(batch.size());
+        for (Queued queued : batch) {
+            if (queued instanceof PendingBid pending) {
+                bids.add(pending);
+            } else {
+                write(bids);
+                bids.clear();
+                ((QueuedTask) queued).task().run();
+            }
+        }
+        write(bids);
+    }
+
+    private void write(List<PendingBid> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Jobs are updated in ID order so the batch locks its rows in the same order as bulk writes
+        Map<Long, BidAggregate> aggregates = new TreeMap<>();
+        for (PendingBid pending : batch) {
+            Bid bid = pending.bid();
+            aggregates.computeIfAbsent(bid.getJob().getId(), id -> new BidAggregate()).add(bid);
+        }
+
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                Set<Long> rejectedJobs = transactionTemplate.execute(status -> {
+                    // Fold each job's bids into its aggregates first, bids of jobs that closed meanwhile are not inserted
+                    Set<Long> rejected = new HashSet<>();
+                    aggregates.forEach((jobId, aggregate) -> {
+                        if (jobRepository.applyBids(jobId, aggregate.lowestAmount, aggregate.count, aggregate.latestBidTime) == 0) {
+                            rejected.add(jobId);
+                        }
+                    });
+                    bidRepository.insertAll(batch.stream()
+                            .map(PendingBid::bid)
+                            .filter(bid -> !rejected.contains(bid.getJob().getId()))
+                            .toList());
+                    return rejected;
+                });
+                log.debug("Flushed {} bids for {} jobs.", batch.size(), aggregates.size());
+                acknowledge(batch, rejectedJobs);
+                return;
+            } catch (RuntimeException ex) {
+                failure = ex;
+                log.warn("Failed to flush {} bids, attempt {} of {}.", batch.size(), attempt, MAX_WRITE_ATTEMPTS, ex);
+                sleepBeforeRetry(attempt);
+            }
+        }
+        log.error("Dropping {} bids after {} failed attempts.", batch.size(), MAX_WRITE_ATTEMPTS, failure);
+        RuntimeException cause = failure;
+        batch.forEach(pending -> pending.ack().completeExceptionally(cause));
+    }
+
+    private void acknowledge(List<PendingBid> batch, Set<Long> rejectedJobs) {
+        for (PendingBid pending : batch) {
+            Long jobId = pending.bid().getJob().getId();
+            if (rejectedJobs != null && rejectedJobs.contains(jobId)) {
+                log.warn("Discarded bid for job ID: {} as the auction was no longer open.", jobId);
+                pending.ack().completeExceptionally(
+                        new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED));
+            } else {
+                pending.ack().complete(null);
+            }
+        }
+    }
+
+    private void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(10L * attempt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void complete(int count) {
+        if (count == 0) {
+            return;
+        }
+        progressLock.lock();
+        try {
+            processed += count;
+            progress.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Bid toBid(Long jobId, double amount, Long bidderId, LocalDateTime bidTime) {
+        return Bid.builder()
+                .amount(amount)
+                .bidTime(bidTime)
+                .job(Job.builder().id(jobId).build())
+                .bidder(Actor.builder().id(bidderId).build())
+                .build();
+    }
+
+    private sealed interface Queued permits PendingBid, QueuedTask {
+    }
+
+    private record PendingBid(Bid bid, CompletableFuture<Void> ack) implements Queued {
+    }
+
+    private record QueuedTask(Runnable task) implements Queued {
+    }
+
+    private static final class BidAggregate {
+        private double lowestAmount = Double.MAX_VALUE;
+        private double count;
+        private LocalDateTime latestBidTime;
+
+        private void add(Bid bid) {
+            lowestAmount = Math.min(lowestAmount, bid.getAmount());
+            count++;
+            if (latestBidTime == null || bid.getBidTime().isAfter(latestBidTime)) {
+                latestBidTime = bid.getBidTime();
+            }
+        }
+    }
+}
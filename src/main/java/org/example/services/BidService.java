@@ -1,24 +1,48 @@
 package org.example.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.example.cache.CacheInvalidationBus;
+import org.example.cache.JobSummaryCache;
+import org.example.cache.UserPrincipalCache;
+import org.example.dtos.BidDTO;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.dtos.ProxyBidDTO;
+import org.example.engine.AuctionEngine;
+import org.example.engine.AuctionReconciledEvent;
+import org.example.engine.AuctionState;
+import org.example.engine.BidPlacement;
+import org.example.engine.HotJobsLeaderboard;
 import org.example.entities.Actor;
-import org.example.entities.Bid;
 import org.example.entities.Job;
-import org.example.enums.JobStatus;
+import org.example.enums.BidOutcome;
 import org.example.enums.RoleEnum;
 import org.example.exceptions.MarketPlaceException;
-import org.example.repositories.BidRepository;
 import org.example.repositories.JobRepository;
 import org.example.repositories.UserRepository;
-import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.logging.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Service
 @Log4j2
@@ -26,56 +50,400 @@ import java.util.logging.Logger;
 public class BidService {
     private static final String JOB_NOT_FOUND = "Job not found";
     private static final String USER_NOT_FOUND = "User not found";
+    private static final String AUCTION_EXPIRED = "The auction has expired.";
+    private static final String BIDDER_NOT_ALLOWED = "User not allowed to place bids";
+    private static final String BIDS_THROTTLED = "Too many bids right now, please retry.";
+    private static final String INCOMPLETE_BID = "jobId, amount and bidderId are required";
+    private static final String INVALID_BULK_SIZE = "Between 1 and 1000 bids are accepted per request";
+    private static final String BID_PLACED = "Bid placed successfully!";
+    private static final String BID_QUEUED = "Bid accepted, it will be saved shortly.";
+    private static final String INCOMPLETE_PROXY_BID = "jobId, bidderId, amount, floorAmount and decrement are required";
+    private static final String INVALID_PROXY_BID = "The floor amount must not exceed the amount and the decrement must be positive";
+    private static final String PROXY_BIDS_DISABLED = "Proxy bidding is not available";
+    private static final String PROXY_BID_NOT_FOUND = "Proxy bid not found";
+    private static final String PROXY_BID_REGISTERED = "Proxy bid registered successfully!";
+    private static final String PROXY_BID_CANCELLED = "Proxy bid cancelled successfully!";
+    private static final String PLACE_BID_TIMER = "marketplace.bids.place";
+    private static final String PLACE_BIDS_TIMER = "marketplace.bids.place.bulk";
+    private static final int MAX_BULK_SIZE = 1000;
 
-    private final BidRepository bidRepository;
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
+    private final AuctionEngine auctionEngine;
+    private final BidPersistenceService bidPersistenceService;
+    private final JobSummaryCache jobSummaryCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuctionFeedService auctionFeedService;
+    private final HotJobsLeaderboard hotJobsLeaderboard;
+    private final UserPrincipalCache userPrincipalCache;
+    private final MeterRegistry meterRegistry;
 
     /**
-     Places a bid on a job.
+     Places a bid on a job. With the auction engine enabled the bid is applied in memory and persisted by the
+     write-behind pipeline, otherwise it is validated and written with a single conditional update.
      @param jobId the ID of the job to place a bid on
      @param bidAmount the amount of the bid
      @param bidderId the ID of the bidder
      @return a success message if the bid is placed successfully
      **/
-    @Transactional
     public String placeBid(Long jobId, Double bidAmount, Long bidderId) {
-        log.info("Placing bid for job ID: {} by bidder ID: {} with amount: {}", jobId, bidderId, bidAmount);
+        log.debug("Placing bid for job ID: {} by bidder ID: {} with amount: {}", jobId, bidderId, bidAmount);
 
-        // Retrieve the job and validate its status
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        // The direct path writes exactly the bid, the engine also counts the bids of proxies answering it
+        BidPlacement placed = new BidPlacement(BidOutcome.ACCEPTED, 1);
+        try {
+            if (auctionEngine.isEnabled()) {
+                placed = placeBidInEngine(jobId, bidAmount, bidderId);
+            } else {
+                placeBidDirect(jobId, bidAmount, bidderId);
+            }
+            outcome = placed.outcome() == BidOutcome.PENDING ? "pending" : "accepted";
+        } catch (MarketPlaceException ex) {
+            outcome = outcome(ex.getStatus());
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer(PLACE_BID_TIMER,
+                    "engine", String.valueOf(auctionEngine.isEnabled()), "outcome", outcome));
+        }
+        recordBids(jobId, placed.bidsWritten());
+        log.debug("Bid accepted for job ID: {} by bidder ID: {}", jobId, bidderId);
+
+        return placed.outcome() == BidOutcome.PENDING ? BID_QUEUED : BID_PLACED;
+    }
 
-        if (job.getExpireAt().isBefore(LocalDateTime.now()) || job.getStatus() == JobStatus.CLOSED) {
-            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, "The auction has expired.", "The auction has expired.");
+    /**
+     Places many bids at once. Bidders and jobs seen for the first time are loaded with one query each, and the
+     bids are persisted in shared batches: through the auction engine, or in one transaction when it is disabled or
+     the node runs in a cluster. A rejected bid does not affect the others.
+     @param bids the bids to place, at most 1000
+     @return the result of each bid, in order
+     **/
+    public List<BulkItemResultDTO> placeBids(List<BidDTO> bids) {
+        if (bids == null || bids.isEmpty() || bids.size() > MAX_BULK_SIZE) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, INVALID_BULK_SIZE, INVALID_BULK_SIZE);
         }
+        log.debug("Placing {} bids in bulk.", bids.size());
 
-        // Retrieve the bidder and validate the role
-        Actor bidder = userRepository.findById(bidderId)
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, USER_NOT_FOUND, USER_NOT_FOUND));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        BulkItemResultDTO[] results = new BulkItemResultDTO[bids.size()];
+        Map<Long, MarketPlaceException> bidderErrors = verifyBidders(bids.stream()
+                .filter(Objects::nonNull)
+                .map(BidDTO::getBidderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<Integer> valid = new ArrayList<>(bids.size());
+        for (int i = 0; i < bids.size(); i++) {
+            BidDTO bid = bids.get(i);
+            if (bid == null || bid.getJobId() == null || bid.getAmount() == null || bid.getBidderId() == null) {
+                results[i] = failed(i, new MarketPlaceException(HttpStatus.BAD_REQUEST, INCOMPLETE_BID, INCOMPLETE_BID));
+            } else if (bidderErrors.containsKey(bid.getBidderId())) {
+                results[i] = failed(i, bidderErrors.get(bid.getBidderId()));
+            } else {
+                valid.add(i);
+            }
+        }
 
-        if (!RoleEnum.BIDDER.equals(bidder.getRole())) {
-            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, "User not allowed to place bids", "User not allowed to place bids");
+        // The bids of a job have to reach the engine of the node it is routed to, which a request spanning jobs
+        // cannot, so clustered nodes write bulk bids to the rows and let the engines holding the jobs reload them
+        boolean inEngine = auctionEngine.isEnabled() && !cacheInvalidationBus.isEnabled();
+        if (inEngine) {
+            placeBidsInEngine(bids, valid, results);
+        } else {
+            placeBidsDirect(bids, valid, results);
+        }
+        sample.stop(meterRegistry.timer(PLACE_BIDS_TIMER, "engine", String.valueOf(inEngine)));
+        return Arrays.asList(results);
+    }
+
+    private void placeBidsInEngine(List<BidDTO> bids, List<Integer> valid, BulkItemResultDTO[] results) {
+        // Load every job the engine does not hold yet with one query
+        Set<Long> missingJobs = valid.stream()
+                .map(i -> bids.get(i).getJobId())
+                .filter(jobId -> !auctionEngine.isTracking(jobId))
+                .collect(Collectors.toSet());
+        if (!missingJobs.isEmpty()) {
+            for (Job job : jobRepository.findAllById(Set.copyOf(missingJobs))) {
+                missingJobs.remove(job.getId());
+                auctionEngine.track(job.getId(), job);
+            }
+        }
+
+        List<Integer> placed = new ArrayList<>(valid.size());
+        for (int i : valid) {
+            if (missingJobs.contains(bids.get(i).getJobId())) {
+                results[i] = failed(i, new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
+            } else {
+                placed.add(i);
+            }
+        }
+
+        List<CompletableFuture<BidPlacement>> outcomes = auctionEngine.placeBids(placed.stream().map(bids::get).toList());
+        Set<Long> changedJobs = new LinkedHashSet<>();
+        for (int k = 0; k < placed.size(); k++) {
+            int i = placed.get(k);
+            Long jobId = bids.get(i).getJobId();
+            try {
+                BidPlacement placement = outcomes.get(k).join();
+                BidOutcome outcome = placement.outcome();
+                if (outcome == BidOutcome.ACCEPTED || outcome == BidOutcome.PENDING) {
+                    results[i] = accepted(i, outcome == BidOutcome.PENDING ? BID_QUEUED : BID_PLACED);
+                    changedJobs.add(jobId);
+                    recordBids(jobId, placement.bidsWritten());
+                } else if (outcome == BidOutcome.THROTTLED) {
+                    results[i] = failed(i, new MarketPlaceException(HttpStatus.SERVICE_UNAVAILABLE, BIDS_THROTTLED,
+                            BIDS_THROTTLED));
+                } else {
+                    results[i] = failed(i, new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED));
+                }
+            } catch (CompletionException ex) {
+                results[i] = failed(i, ex.getCause());
+            }
+        }
+
+        changedJobs.forEach(this::publishBidStats);
+    }
+
+    private void placeBidsDirect(List<BidDTO> bids, List<Integer> valid, BulkItemResultDTO[] results) {
+        if (valid.isEmpty()) {
+            return;
         }
+        Set<Long> rejectedJobs = bidPersistenceService.writeThroughAll(valid.stream().map(bids::get).toList(),
+                LocalDateTime.now());
+        // Only the jobs that rejected their bids are looked up, to tell missing jobs from closed ones
+        Set<Long> existingJobs = new HashSet<>();
+        if (!rejectedJobs.isEmpty()) {
+            jobRepository.findAllById(rejectedJobs).forEach(job -> existingJobs.add(job.getId()));
+        }
+
+        Set<Long> changedJobs = new LinkedHashSet<>();
+        for (int i : valid) {
+            Long jobId = bids.get(i).getJobId();
+            if (!rejectedJobs.contains(jobId)) {
+                results[i] = accepted(i, BID_PLACED);
+                changedJobs.add(jobId);
+                recordBids(jobId, 1);
+            } else if (existingJobs.contains(jobId)) {
+                results[i] = failed(i, new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED));
+            } else {
+                results[i] = failed(i, new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
+            }
+        }
+
+        for (Long jobId : changedJobs) {
+            auctionEngine.refresh(jobId);
+            jobSummaryCache.invalidate(jobId);
+            cacheInvalidationBus.publishJobChanged(jobId);
+            auctionFeedService.publish(jobId);
+        }
+    }
 
-        // Create and save the new bid
-        Bid newBid = Bid.builder()
-                .amount(bidAmount)
-                .bidTime(LocalDateTime.now())
-                .job(job)
-                .bidder(bidder)
+    private static BulkItemResultDTO accepted(int index, String message) {
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .status(HttpStatus.OK.value())
+                .message(message)
                 .build();
+    }
 
-        bidRepository.save(newBid);
-        log.info("Bid saved successfully for job ID: {} by bidder ID: {}", jobId, bidderId);
+    private static BulkItemResultDTO failed(int index, Throwable cause) {
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        String message = "Something went wrong!";
+        if (cause instanceof MarketPlaceException marketPlaceException) {
+            status = marketPlaceException.getStatus();
+            message = marketPlaceException.getEndUserMessage();
+        } else if (cause instanceof TimeoutException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = BIDS_THROTTLED;
+        }
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .status(status.value())
+                .message(message)
+                .build();
+    }
 
-        // Update job's lowest bid amount and bid count
-        job.setLowestBidAmount(Math.min(job.getLowestBidAmount(), bidAmount));
-        job.setBidCount(job.getBidCount() + 1);
-        jobRepository.save(job);
-        log.info("Job ID: {} updated with new lowest bid amount and bid count.", jobId);
+    private static String outcome(HttpStatus status) {
+        return switch (status) {
+            case BAD_REQUEST -> "rejected";
+            case NOT_FOUND -> "not_found";
+            case SERVICE_UNAVAILABLE -> "throttled";
+            default -> "error";
+        };
+    }
 
-        return "Bid placed successfully!";
+    /**
+     Registers a proxy bid, which undercuts rival bids on behalf of the bidder down to its floor amount so the
+     bidder does not have to poll the lowest bid and bid again. Competing proxies are settled by the auction engine
+     and only the bids that result are written. Proxies are held in memory by the engine, they are dropped when the
+     auction closes or the node restarts.
+     @param proxyBid the job, bidder, first amount, floor amount and decrement of the proxy
+     @return a success message if the proxy bid is registered
+     **/
+    public String registerProxyBid(ProxyBidDTO proxyBid) {
+        if (proxyBid.getJobId() == null || proxyBid.getBidderId() == null || proxyBid.getAmount() == null
+                || proxyBid.getFloorAmount() == null || proxyBid.getDecrement() == null) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, INCOMPLETE_PROXY_BID, INCOMPLETE_PROXY_BID);
+        }
+        if (proxyBid.getDecrement() <= 0 || proxyBid.getFloorAmount() > proxyBid.getAmount()) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, INVALID_PROXY_BID, INVALID_PROXY_BID);
+        }
+        if (!auctionEngine.isEnabled()) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, PROXY_BIDS_DISABLED, "Auction engine is disabled");
+        }
+        Long jobId = proxyBid.getJobId();
+        log.debug("Registering proxy bid for job ID: {} by bidder ID: {} with floor amount: {}", jobId,
+                proxyBid.getBidderId(), proxyBid.getFloorAmount());
+        trackAcceptingJob(jobId);
+        verifyBidder(proxyBid.getBidderId());
+
+        BidPlacement placement = auctionEngine.registerProxy(jobId, proxyBid.getBidderId(), proxyBid.getAmount(),
+                proxyBid.getFloorAmount(), proxyBid.getDecrement());
+        if (placement.outcome() != BidOutcome.ACCEPTED) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED);
+        }
+        recordBids(jobId, placement.bidsWritten());
+        publishBidStats(jobId);
+        return PROXY_BID_REGISTERED;
+    }
+
+    /**
+     Cancels the proxy bid of a bidder. The bids it already placed stay.
+     @param jobId the ID of the job
+     @param bidderId the ID of the bidder
+     @return a success message if the proxy bid is cancelled
+     **/
+    public String cancelProxyBid(Long jobId, Long bidderId) {
+        log.debug("Cancelling proxy bid for job ID: {} by bidder ID: {}", jobId, bidderId);
+        if (!auctionEngine.cancelProxy(jobId, bidderId)) {
+            throw new MarketPlaceException(HttpStatus.NOT_FOUND, PROXY_BID_NOT_FOUND, PROXY_BID_NOT_FOUND);
+        }
+        return PROXY_BID_CANCELLED;
+    }
+
+    /**
+     Loads the job into the auction engine on first use and validates its status.
+     @param jobId the ID of the job
+     **/
+    private void trackAcceptingJob(Long jobId) {
+        if (!auctionEngine.isTracking(jobId)) {
+            Job job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
+            auctionEngine.track(jobId, job);
+        }
+
+        if (!auctionEngine.isAcceptingBids(jobId)) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED);
+        }
+    }
+
+    // Counted by the leaderboards of the other nodes as well, each one only accepts part of the bids
+    private void recordBids(Long jobId, int count) {
+        hotJobsLeaderboard.recordBids(jobId, count);
+        cacheInvalidationBus.publishBids(jobId, count);
+    }
+
+    private void publishBidStats(Long jobId) {
+        AuctionState state = auctionEngine.getState(jobId);
+        if (cacheInvalidationBus.isEnabled()) {
+            // Other nodes may write bids of the job as well, so the engine only knows part of them
+            jobSummaryCache.invalidate(jobId);
+            cacheInvalidationBus.publishJobChanged(jobId);
+        } else if (state != null) {
+            jobSummaryCache.updateBidStats(jobId, state.getLowestBidAmount(), state.getBidCount());
+        }
+        auctionFeedService.publish(jobId);
+    }
+
+    private BidPlacement placeBidInEngine(Long jobId, Double bidAmount, Long bidderId) {
+        trackAcceptingJob(jobId);
+        verifyBidder(bidderId);
+
+        // Apply the bid on the job's shard, the engine re-checks expiry as the single writer
+        BidPlacement placement = auctionEngine.placeBid(jobId, bidAmount, bidderId);
+        BidOutcome outcome = placement.outcome();
+        if (outcome == BidOutcome.THROTTLED) {
+            throw new MarketPlaceException(HttpStatus.SERVICE_UNAVAILABLE, BIDS_THROTTLED, "Bid write-behind queue is full");
+        }
+        if (outcome != BidOutcome.ACCEPTED && outcome != BidOutcome.PENDING) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED);
+        }
+        // Includes the bids of proxies that answered this one
+        publishBidStats(jobId);
+        return placement;
+    }
+
+    /**
+     Drops the statistics derived from the engine for a job the engine reloaded after a failed bid write.
+     @param event the reconciled job
+     **/
+    @EventListener
+    public void onAuctionReconciled(AuctionReconciledEvent event) {
+        jobSummaryCache.invalidate(event.jobId());
+        cacheInvalidationBus.publishJobChanged(event.jobId());
+        auctionFeedService.publish(event.jobId());
+    }
+
+    private void placeBidDirect(Long jobId, Double bidAmount, Long bidderId) {
+        verifyBidder(bidderId);
+
+        // Validation, expiry check and aggregate update happen in one statement, the job is only read on failure
+        if (!bidPersistenceService.writeThrough(jobId, bidAmount, bidderId, LocalDateTime.now())) {
+            if (!jobRepository.existsById(jobId)) {
+                throw new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND);
+            }
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, AUCTION_EXPIRED, AUCTION_EXPIRED);
+        }
+        jobSummaryCache.invalidate(jobId);
+        cacheInvalidationBus.publishJobChanged(jobId);
+        auctionFeedService.publish(jobId);
+    }
+
+    /**
+     Validates many bidders with one query, skipping the bidders verified before.
+     @param bidderIds the IDs of the bidders
+     @return the error of every bidder that may not place bids
+     **/
+    private Map<Long, MarketPlaceException> verifyBidders(Set<Long> bidderIds) {
+        Map<Long, MarketPlaceException> errors = new HashMap<>();
+        Set<Long> unknown = bidderIds.stream()
+                .filter(bidderId -> !userPrincipalCache.isBidder(bidderId))
+                .collect(Collectors.toSet());
+        if (unknown.isEmpty()) {
+            return errors;
+        }
+        Map<Long, Actor> bidders = new HashMap<>();
+        userRepository.findAllById(unknown).forEach(actor -> bidders.put(actor.getId(), actor));
+        for (Long bidderId : unknown) {
+            Actor bidder = bidders.get(bidderId);
+            if (bidder == null) {
+                errors.put(bidderId, new MarketPlaceException(HttpStatus.NOT_FOUND, USER_NOT_FOUND, USER_NOT_FOUND));
+            } else if (!RoleEnum.BIDDER.equals(bidder.getRole())) {
+                errors.put(bidderId, new MarketPlaceException(HttpStatus.BAD_REQUEST, BIDDER_NOT_ALLOWED, BIDDER_NOT_ALLOWED));
+            } else {
+                userPrincipalCache.putBidder(bidderId, bidder.getUsername());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     Validates that the user may place bids. Verified bidders are kept in the user principal cache, so a bidder is
+     only looked up again once evicted or changed.
+     @param bidderId the ID of the bidder
+     **/
+    private void verifyBidder(Long bidderId) {
+        if (userPrincipalCache.isBidder(bidderId)) {
+            return;
+        }
+        Actor bidder = userRepository.findById(bidderId)
+                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, USER_NOT_FOUND, USER_NOT_FOUND));
+
+        if (!RoleEnum.BIDDER.equals(bidder.getRole())) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, BIDDER_NOT_ALLOWED, BIDDER_NOT_ALLOWED);
+        }
+        userPrincipalCache.putBidder(bidderId, bidder.getUsername());
     }
 
     /**
@@ -84,11 +452,8 @@ public class BidService {
      @return the lowest bid amount
      **/
     public double getLowestBidAmount(Long jobId) {
-        log.info("Retrieving lowest bid amount for job ID: {}", jobId);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
-
-        return job.getLowestBidAmount();
+        log.debug("Retrieving lowest bid amount for job ID: {}", jobId);
+        return getSummary(jobId).getLowestBidAmount();
     }
 
     /**
@@ -97,11 +462,8 @@ public class BidService {
      @return the number of bids placed on the job
      **/
     public Double getBidCount(Long jobId) {
-        log.info("Retrieving bid count for job ID: {}", jobId);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
-
-        return job.getBidCount();
+        log.debug("Retrieving bid count for job ID: {}", jobId);
+        return getSummary(jobId).getBidCount();
     }
 
     /**
@@ -110,11 +472,8 @@ public class BidService {
      @return the expiration time of the auction
      **/
     public LocalDateTime getAuctionExpiration(Long jobId) {
-        log.info("Retrieving auction expiration for job ID: {}", jobId);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
-
-        return job.getExpireAt();
+        log.debug("Retrieving auction expiration for job ID: {}", jobId);
+        return getSummary(jobId).getExpireAt();
     }
 
     /**
@@ -123,10 +482,30 @@ public class BidService {
      @return the remaining time before auction expiration
      **/
     public Duration getTimeRemaining(Long jobId) {
-        log.info("Calculating time remaining for auction on job ID: {}", jobId);
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND));
+        log.debug("Calculating time remaining for auction on job ID: {}", jobId);
+        return Duration.between(LocalDateTime.now(), getSummary(jobId).getExpireAt());
+    }
+
+    /**
+     Subscribes to the live lowest bid, bid count and time remaining of a job.
+     @param jobId the ID of the job
+     @return the emitter streaming the auction updates
+     **/
+    public SseEmitter subscribe(Long jobId) {
+        log.info("Subscribing to auction updates for job ID: {}", jobId);
+        return auctionFeedService.subscribe(jobId);
+    }
 
-        return Duration.between(LocalDateTime.now(), job.getExpireAt());
+    /**
+     Gets the cached bid statistics of a job.
+     @param jobId the ID of the job
+     @return the job summary
+     **/
+    private JobSummaryDTO getSummary(Long jobId) {
+        JobSummaryDTO summary = jobSummaryCache.get(jobId);
+        if (summary == null) {
+            throw new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND);
+        }
+        return summary;
     }
 }
@@ -0,0 +1,308 @@
+package org.example.services;
+
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.example.config.BlockingTaskThreads;
+import org.example.cache.CacheInvalidationBus;
+import org.example.cache.JobSummaryCache;
+import org.example.dtos.JobSummaryDTO;
+import org.example.engine.AuctionEngine;
+import org.example.engine.HotJobsLeaderboard;
+import org.example.enums.JobStatus;
+import org.example.repositories.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ Closes expired auctions in fixed-size chunks. Every chunk is closed in its own transaction with one
+ set-based statement that also picks the winners, and chunks of a sweep run in parallel on a worker pool.
+ <p>
+ Jobs are claimed with {@code FOR UPDATE SKIP LOCKED} before closing. A job locked by a bid write is skipped and
+ handed back to the close scheduler to be retried shortly, and only the jobs actually closed are announced.
+ <p>
+ In distributed mode several nodes close auctions against the same database, so the sweep workers of all nodes pull
+ disjoint batches of expired jobs and a job being closed by one node is skipped by the others. A node only flushes
+ its own bids, so jobs are only claimed once the grace period has passed since their expiry, leaving the node that
+ accepted the last bids before expiry the time to write them.
+ **/
+@Service
+@Log4j2
+public class JobClosingEngine {
+    private final JobRepository jobRepository;
+    private final AuctionEngine auctionEngine;
+    private final BidPersistenceService bidPersistenceService;
+    private final JobSummaryCache jobSummaryCache;
+    private final AuctionFeedService auctionFeedService;
+    private final HotJobsLeaderboard hotJobsLeaderboard;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final AuctionCloseScheduler auctionCloseScheduler;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final int sweepThreads;
+    private final boolean distributed;
+    private final Duration grace;
+    private final Duration retryDelay;
+    private volatile SweepStats lastSweep;
+
+    public JobClosingEngine(JobRepository jobRepository, AuctionEngine auctionEngine,
+                            BidPersistenceService bidPersistenceService, JobSummaryCache jobSummaryCache,
+                            AuctionFeedService auctionFeedService, HotJobsLeaderboard hotJobsLeaderboard,
+                            CacheInvalidationBus cacheInvalidationBus, TransactionTemplate transactionTemplate, BlockingTaskThreads blockingTaskThreads,
+                            @Lazy AuctionCloseScheduler auctionCloseScheduler, MeterRegistry meterRegistry,
+                            @Value("${auction.closing.chunk-size:200}") int chunkSize,
+                            @Value("${auction.closing.sweep-threads:4}") int sweepThreads,
+                            @Value("${auction.closing.distributed:false}") boolean distributed,
+                            @Value("${auction.closing.grace-ms:2000}") long graceMs,
+                            @Value("${auction.closing.retry-ms:500}") long retryMs) {
+        this.jobRepository = jobRepository;
+        this.auctionEngine = auctionEngine;
+        this.bidPersistenceService = bidPersistenceService;
+        this.jobSummaryCache = jobSummaryCache;
+        this.auctionFeedService = auctionFeedService;
+        this.hotJobsLeaderboard = hotJobsLeaderboard;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = transactionTemplate;
+        this.auctionCloseScheduler = auctionCloseScheduler;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.sweepThreads = sweepThreads;
+        this.distributed = distributed;
+        this.grace = distributed ? Duration.ofMillis(graceMs) : Duration.ZERO;
+        this.retryDelay = Duration.ofMillis(retryMs);
+        this.workers = Executors.newFixedThreadPool(sweepThreads, blockingTaskThreads.factory("job-closer-"));
+    }
+
+    /**
+     Gets the number of jobs closed per transaction.
+     @return the chunk size
+     **/
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     Gets the statistics of the last completed sweep.
+     @return the sweep statistics, or null if no sweep ran yet
+     **/
+    public SweepStats getLastSweep() {
+        return lastSweep;
+    }
+
+    /**
+     Closes every open job that has expired, one chunk per transaction, with chunks running in parallel. The expired
+     jobs are read one chunk at a time, and only as many chunks are read ahead as there are workers to close them.
+     @return the statistics of the sweep
+     **/
+    public SweepStats closeExpiredJobs() {
+        if (distributed) {
+            return closeClaimedJobs();
+        }
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<JobSummaryDTO> expired = jobRepository.findExpiredSummaries(JobStatus.OPEN, now, Limit.of(chunkSize));
+        // Results are ordered by expiry time, so the first job has waited the longest
+        Duration maxLag = expired.isEmpty() ? Duration.ZERO : Duration.between(expired.get(0).getExpireAt(), now);
+
+        Deque<Future<Integer>> chunks = new ArrayDeque<>();
+        int found = 0;
+        int closed = 0;
+        int failedChunks = 0;
+        while (!expired.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            found += expired.size();
+            List<Long> jobIds = expired.stream().map(JobSummaryDTO::getJobId).toList();
+            chunks.add(workers.submit(() -> closeChunk(jobIds)));
+            if (chunks.size() == sweepThreads) {
+                Integer count = await(chunks.poll());
+                closed += count == null ? 0 : count;
+                failedChunks += count == null ? 1 : 0;
+            }
+            // Paged by expiry time and ID, jobs of failed chunks stay open and must not be read again
+            JobSummaryDTO last = expired.get(expired.size() - 1);
+            expired = expired.size() < chunkSize ? List.of() : jobRepository.findExpiredSummariesAfter(JobStatus.OPEN,
+                    now, last.getExpireAt(), last.getJobId(), Limit.of(chunkSize));
+        }
+        for (Future<Integer> chunk : chunks) {
+            Integer count = await(chunk);
+            closed += count == null ? 0 : count;
+            failedChunks += count == null ? 1 : 0;
+        }
+        return record(found, closed, failedChunks, started, maxLag);
+    }
+
+    /**
+     Waits for a chunk of expired jobs to be closed.
+     @param chunk the chunk being closed
+     @return the number of jobs closed, or null if the transaction of the chunk failed
+     **/
+    private Integer await(Future<Integer> chunk) {
+        try {
+            return chunk.get();
+        } catch (ExecutionException ex) {
+            log.error("Failed to close a chunk of expired jobs, it will be retried on the next sweep.", ex.getCause());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    /**
+     Distributed sweep: every worker claims and closes batches of expired jobs until none are left unclaimed.
+     @return the statistics of the sweep, counting only the jobs this node claimed
+     **/
+    private SweepStats closeClaimedJobs() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Duration maxLag = jobRepository.findOldestExpiry(JobStatus.OPEN, now)
+                .map(oldest -> Duration.between(oldest, now))
+                .orElse(Duration.ZERO);
+        // Bids accepted before the jobs expired must be written before any winner is picked, the other nodes
+        // write theirs within the grace period
+        bidPersistenceService.flush();
+        LocalDateTime expiredBefore = now.minus(grace);
+
+        List<Future<ClaimStats>> claimers = new ArrayList<>();
+        for (int i = 0; i < sweepThreads; i++) {
+            claimers.add(workers.submit(() -> claimAndClose(expiredBefore)));
+        }
+
+        int claimed = 0;
+        int closed = 0;
+        int failedChunks = 0;
+        for (Future<ClaimStats> claimer : claimers) {
+            try {
+                ClaimStats stats = claimer.get();
+                claimed += stats.claimed();
+                closed += stats.closed();
+            } catch (ExecutionException ex) {
+                failedChunks++;
+                log.error("Failed to close a claimed chunk of expired jobs, it will be retried on the next sweep.",
+                        ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return record(claimed, closed, failedChunks, started, maxLag);
+    }
+
+    private ClaimStats claimAndClose(LocalDateTime expiredBefore) {
+        int claimed = 0;
+        int closed = 0;
+        while (true) {
+            List<Long> jobIds = new ArrayList<>();
+            Integer count = transactionTemplate.execute(status -> {
+                jobIds.addAll(jobRepository.claimExpiredJobs(expiredBefore, chunkSize));
+                return jobIds.isEmpty() ? 0 : jobRepository.closeJobs(jobIds, expiredBefore);
+            });
+            if (jobIds.isEmpty()) {
+                return new ClaimStats(claimed, closed);
+            }
+            jobIds.forEach(auctionEngine::close);
+            claimed += jobIds.size();
+            closed += afterClose(jobIds, count);
+        }
+    }
+
+    private SweepStats record(int expired, int closed, int failedChunks, long started, Duration maxLag) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        double jobsPerSecond = elapsed.isZero() ? 0 : closed * 1_000_000_000.0 / elapsed.toNanos();
+        SweepStats stats = new SweepStats(expired, closed, failedChunks, elapsed, maxLag, jobsPerSecond);
+        lastSweep = stats;
+        meterRegistry.timer("marketplace.auctions.sweep").record(elapsed);
+        log.info("Closing sweep: expired={}, closed={}, failedChunks={}, elapsed={} ms, throughput={} jobs/s, maxLag={} ms",
+                stats.expired(), stats.closed(), stats.failedChunks(), elapsed.toMillis(),
+                Math.round(jobsPerSecond), maxLag.toMillis());
+        return stats;
+    }
+
+    /**
+     Closes a chunk of jobs in one transaction. Bids still in memory are flushed first so the winners
+     are picked from every accepted bid. Jobs that are already closed, or are being closed by another node, are left
+     untouched. Jobs still open that could not be claimed, because a bid write holds them or because the grace
+     period has not passed yet, are scheduled again.
+     @param jobIds the IDs of the jobs to close
+     @return the number of jobs closed
+     **/
+    public int closeChunk(List<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        // Stop accepting bids in memory and make sure every accepted bid is written before picking the winners
+        jobIds.forEach(auctionEngine::close);
+        bidPersistenceService.flush();
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(grace);
+        List<Long> closedIds = transactionTemplate.execute(status -> {
+            List<Long> claimed = jobRepository.claimOpenJobs(jobIds, expiredBefore);
+            if (!claimed.isEmpty()) {
+                jobRepository.closeJobs(claimed, expiredBefore);
+            }
+            return claimed;
+        });
+        List<Long> closed = closedIds == null ? List.of() : closedIds;
+        if (closed.size() < jobIds.size()) {
+            retry(jobIds.stream().filter(jobId -> !closed.contains(jobId)).toList());
+        }
+        return afterClose(closed, closed.size());
+    }
+
+    private void retry(List<Long> skipped) {
+        LocalDateTime retryAt = LocalDateTime.now().plus(retryDelay);
+        List<Long> open = jobRepository.findIdsByStatus(skipped, JobStatus.OPEN);
+        open.forEach(jobId -> auctionCloseScheduler.register(jobId, retryAt));
+        if (!open.isEmpty()) {
+            log.debug("Retrying to close {} jobs that could not be claimed yet.", open.size());
+        }
+    }
+
+    private int afterClose(List<Long> jobIds, Integer closed) {
+        jobIds.forEach(jobId -> {
+            hotJobsLeaderboard.remove(jobId);
+            jobSummaryCache.invalidate(jobId);
+            cacheInvalidationBus.publishJobClosed(jobId);
+            auctionFeedService.publish(jobId);
+        });
+        log.debug("Closed {} of {} jobs in chunk.", closed, jobIds.size());
+        int count = closed == null ? 0 : closed;
+        meterRegistry.counter("marketplace.auctions.closed").increment(count);
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private record ClaimStats(int claimed, int closed) {
+    }
+
+    /**
+     Statistics of one closing sweep.
+     @param expired the number of expired jobs found
+     @param closed the number of jobs closed
+     @param failedChunks the number of chunks whose transaction failed
+     @param elapsed the duration of the sweep
+     @param maxLag the longest time a job stayed open past its expiry
+     @param jobsPerSecond the closing throughput
+     **/
+    public record SweepStats(int expired, int closed, int failedChunks, Duration elapsed, Duration maxLag,
+                             double jobsPerSecond) {
+    }
+}
@@ -2,100 +2,210 @@ package org.example.services;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.example.cache.CacheInvalidationBus;
+import org.example.dtos.BulkItemResultDTO;
 import org.example.dtos.JobDTO;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.engine.HotJobsLeaderboard;
 import org.example.entities.Actor;
-import org.example.entities.Bid;
 import org.example.entities.Job;
+import org.example.enums.JobRanking;
+import org.example.enums.JobSort;
 import org.example.enums.JobStatus;
 import org.example.enums.RoleEnum;
 import org.example.exceptions.MarketPlaceException;
-import org.example.repositories.BidRepository;
 import org.example.repositories.JobRepository;
 import org.example.repositories.UserRepository;
+import org.example.utils.PageCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Service
 @Log4j2
 @AllArgsConstructor
 public class JobService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE = 10_000;
+    private static final String POSTER_NOT_FOUND = "Poster not found";
+    private static final String NOT_A_POSTER = "User is not a poster";
+    private static final String JOB_POSTED = "Job posted successfully!";
+    private static final String INVALID_BULK_SIZE = "Between 1 and 1000 jobs are accepted per request";
+
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
-    private final BidRepository bidRepository;
+    private final AuctionCloseScheduler auctionCloseScheduler;
+    private final JobClosingEngine jobClosingEngine;
+    private final HotJobsLeaderboard hotJobsLeaderboard;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
-     Scheduled method to close expired jobs every 5 minutes.
+     Backstop sweep closing expired jobs the close scheduler missed, e.g. when its queue was full.
+     Runs with a fixed delay so sweeps never overlap, the virtual thread scheduler starts every run on a new thread.
      **/
-    @Scheduled(fixedRate = 300000)
+    @Scheduled(fixedDelayString = "${auction.closing.sweep-interval-ms:300000}")
     public void closeExpiredJobs() {
         log.info("Checking for expired jobs to close.");
-        List<Job> expiredJobs = jobRepository.findAllByExpireAtBeforeAndStatus(LocalDateTime.now(), JobStatus.OPEN);
-        for (Job job : expiredJobs) {
-            closeJob(job);
+        jobClosingEngine.closeExpiredJobs();
+    }
+
+    /**
+     Retrieves the 10 most recently posted jobs.
+     @return a list of JobDTOs
+     **/
+    public List<JobDTO> getRecentJobs() {
+        log.debug("Fetching 10 most recent jobs.");
+        return jobRepository.findRecentListings(Limit.of(10)).stream()
+                .map(JobListingDTO::toJobDTO)
+                .toList();
+    }
+
+    /**
+     Retrieves the hottest open jobs from the in-memory leaderboard, without querying the database.
+     @param ranking rank by total bid count or by bids within the sliding window
+     @param limit the number of jobs to return, at most 100
+     @return a list of JobDTOs
+     **/
+    public List<JobDTO> getActiveJobs(JobRanking ranking, int limit) {
+        log.debug("Fetching top {} active jobs by {}.", limit, ranking);
+        return hotJobsLeaderboard.top(ranking, pageSize(limit));
+    }
+
+    /**
+     Retrieves a page of jobs using keyset pagination, so every page costs the same as the first one. Open jobs by
+     bid count are paged on the leaderboard, which ranks them already, so no index has to follow the bid counts.
+     @param sort the order of the listing
+     @param status only jobs with this status, or null for any
+     @param posterId only jobs of this poster, or null for any
+     @param expiresAfter only jobs expiring at or after this time, or null
+     @param expiresBefore only jobs expiring before this time, or null
+     @param cursor the token of the previous page, or null for the first page
+     @param limit the maximum number of jobs to return
+     @return the page of jobs and the token of the next page
+     **/
+    public JobPageDTO getJobs(JobSort sort, JobStatus status, Long posterId, LocalDateTime expiresAfter,
+                              LocalDateTime expiresBefore, String cursor, int limit) {
+        log.debug("Fetching a page of jobs sorted by {}.", sort);
+        int pageSize = pageSize(limit);
+        PageCursor position = PageCursor.decode(cursor, sort);
+        if (isRanked(sort, status, posterId, expiresAfter, expiresBefore)) {
+            return toPage(rankedListings(position, pageSize + 1), pageSize, sort);
+        }
+        Object cursorKey = null;
+        if (position != null) {
+            cursorKey = sort == JobSort.BIDS ? position.bidCountKey() : position.postedAtKey();
         }
+        // Fetch one extra row to know whether there is a next page
+        List<JobListingDTO> jobs = jobRepository.findPage(sort, status, posterId, expiresAfter, expiresBefore, cursorKey,
+                position == null ? null : position.id(), pageSize + 1);
+        return toPage(jobs, pageSize, sort);
+    }
+
+    /**
+     Checks whether a listing is the one of the open jobs by bid count, served from the leaderboard.
+     @return true if the jobs are sorted by bid count and only filtered by the OPEN status
+     **/
+    static boolean isRanked(JobSort sort, JobStatus status, Long posterId, LocalDateTime expiresAfter,
+                            LocalDateTime expiresBefore) {
+        return sort == JobSort.BIDS && status == JobStatus.OPEN && posterId == null && expiresAfter == null
+                && expiresBefore == null;
     }
 
     /**
-     Closes a job and assigns the winner if applicable.
-     @param job the job to be closed
+     Loads the listings of the open jobs ranked after a position on the leaderboard, with the bid counts it
+     ranks them by. Jobs closed since they were ranked are skipped and made up for from further down.
+     @param position the last job of the previous page, or null for the first page
+     @param count the number of jobs to return
+     @return the listings, in order
      **/
-    @Transactional
-    private void closeJob(Job job) {
-        log.info("Closing job ID: {}", job.getId());
-        job.setStatus(JobStatus.CLOSED);
-
-        Bid lowestBid = bidRepository.findFirstByJobOrderByAmountAsc(job);
-        if (lowestBid != null) {
-            Actor winner = lowestBid.getBidder();
-            job.setWinner(winner);
-            bidRepository.save(lowestBid);
-
-            log.info("Job ID: {} closed. Winner: User ID: {}", job.getId(), winner.getId());
-            // TODO: Implement notification sending to winner and other bidders
-            // sendNotificationToWinner(winner);
-            // sendNotificationToOtherBidders(job);
+    private List<JobListingDTO> rankedListings(PageCursor position, int count) {
+        Double afterBidCount = position == null ? null : position.bidCountKey();
+        Long afterJobId = position == null ? null : position.id();
+        List<JobListingDTO> listings = new ArrayList<>(count);
+        while (listings.size() < count) {
+            List<HotJobsLeaderboard.Entry> ranked = hotJobsLeaderboard.pageByBidCount(afterBidCount, afterJobId,
+                    count - listings.size());
+            if (ranked.isEmpty()) {
+                break;
+            }
+            Map<Long, JobListingDTO> rows = new HashMap<>();
+            jobRepository.findListingsByIdIn(ranked.stream().map(HotJobsLeaderboard.Entry::jobId).toList())
+                    .forEach(row -> rows.put(row.getJobId(), row));
+            for (HotJobsLeaderboard.Entry entry : ranked) {
+                JobListingDTO row = rows.get(entry.jobId());
+                if (row != null) {
+                    row.setBidCount(entry.score());
+                    listings.add(row);
+                }
+            }
+            HotJobsLeaderboard.Entry last = ranked.get(ranked.size() - 1);
+            afterBidCount = last.score();
+            afterJobId = last.jobId();
         }
-        jobRepository.save(job);
+        return listings;
     }
 
     /**
-     Retrieves the 10 most recently posted jobs.
-     @return a list of JobDTOs
+     Searches jobs by the words of their description and requirements, best matches first.
+     @param query the search terms, quoted phrases, OR and -excluded terms are supported
+     @param status only jobs with this status, or null for any
+     @param page the zero-based page number
+     @param limit the maximum number of jobs to return
+     @return the page of matching jobs
      **/
-    public List<JobDTO> getRecentJobs() {
-        log.info("Fetching 10 most recent jobs.");
-        return jobRepository.findTop10ByOrderByPostedAtDesc().stream()
-                .map(job -> JobDTO.builder()
-                        .jobId(job.getId())
-                        .description(job.getDescription())
-                        .requirements(job.getRequirements())
-                        .posterId(job.getPoster().getId())
-                        .expireAt(job.getExpireAt())
-                        .build())
+    public List<JobDTO> searchJobs(String query, JobStatus status, int page, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, "Search query is required", "Search query is required");
+        }
+        log.debug("Searching jobs for '{}'.", query);
+        int pageSize = pageSize(limit);
+        // Clamped so the offset cannot overflow, pages that deep are empty anyway
+        int offset = Math.min(Math.max(0, page), MAX_SEARCH_PAGE) * pageSize;
+        return jobRepository.search(query, status, offset, pageSize).stream()
+                .map(JobListingDTO::toJobDTO)
                 .toList();
     }
 
     /**
-     Retrieves the top 10 active jobs based on bid count.
-     @return a list of JobDTOs
+     Clamps a requested page size to the supported range.
+     @param limit the requested page size
+     @return the page size
      **/
-    public List<JobDTO> getActiveJobs() {
-        log.info("Fetching top 10 active jobs.");
-        return jobRepository.findTop10ByStatusOrderByBidCountDesc(JobStatus.OPEN).stream()
-                .map(job -> JobDTO.builder()
-                        .jobId(job.getId())
-                        .description(job.getDescription())
-                        .requirements(job.getRequirements())
-                        .posterId(job.getPoster().getId())
-                        .expireAt(job.getExpireAt())
-                        .build())
-                .toList();
+    static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     Builds a page from rows fetched with one extra row, which tells whether there is a next page.
+     @param jobs the rows, at most pageSize + 1
+     @param pageSize the page size
+     @param sort the sort order of the listing
+     @return the page of jobs and the token of the next page
+     **/
+    static JobPageDTO toPage(List<JobListingDTO> jobs, int pageSize, JobSort sort) {
+        String nextCursor = null;
+        if (jobs.size() > pageSize) {
+            jobs = jobs.subList(0, pageSize);
+            nextCursor = PageCursor.after(jobs.get(pageSize - 1), sort).encode();
+        }
+        return JobPageDTO.builder()
+                .jobs(jobs.stream().map(JobListingDTO::toJobDTO).toList())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
@@ -106,11 +216,69 @@ public class JobService {
     public String postJob(JobDTO jobDTO) {
         log.info("Posting a new job with description: {}", jobDTO.getDescription());
         Actor poster = userRepository.findById(jobDTO.getPosterId())
-                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, "Poster not found", "Poster not found"));
+                .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, POSTER_NOT_FOUND, POSTER_NOT_FOUND));
         if (!RoleEnum.POSTER.equals(poster.getRole())) {
-            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, "User is not a poster", "User is not a poster");
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, NOT_A_POSTER, NOT_A_POSTER);
+        }
+        Job job = toJob(jobDTO, poster);
+        jobRepository.save(job);
+        schedule(job);
+        log.info("Job posted successfully with ID: {}", job.getId());
+        return JOB_POSTED;
+    }
+
+    /**
+     Posts many jobs at once. Posters are loaded with one query and the jobs are inserted in one transaction,
+     in JDBC batches where the persistence profile enables them. A rejected job does not affect the others.
+     @param jobDTOs the details of the jobs to be posted, at most 1000
+     @return the result of each job, in order, with the ID of every posted job
+     **/
+    public List<BulkItemResultDTO> postJobs(List<JobDTO> jobDTOs) {
+        if (jobDTOs == null || jobDTOs.isEmpty() || jobDTOs.size() > MAX_BULK_SIZE) {
+            throw new MarketPlaceException(HttpStatus.BAD_REQUEST, INVALID_BULK_SIZE, INVALID_BULK_SIZE);
+        }
+        log.info("Posting {} jobs in bulk.", jobDTOs.size());
+        Set<Long> posterIds = jobDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(JobDTO::getPosterId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Actor> posters = new HashMap<>();
+        userRepository.findAllById(posterIds).forEach(actor -> posters.put(actor.getId(), actor));
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[jobDTOs.size()];
+        List<Integer> indexes = new ArrayList<>(jobDTOs.size());
+        List<Job> jobs = new ArrayList<>(jobDTOs.size());
+        for (int i = 0; i < jobDTOs.size(); i++) {
+            JobDTO jobDTO = jobDTOs.get(i);
+            Actor poster = jobDTO == null || jobDTO.getPosterId() == null ? null : posters.get(jobDTO.getPosterId());
+            if (poster == null) {
+                results[i] = failed(i, HttpStatus.NOT_FOUND, POSTER_NOT_FOUND);
+            } else if (!RoleEnum.POSTER.equals(poster.getRole())) {
+                results[i] = failed(i, HttpStatus.BAD_REQUEST, NOT_A_POSTER);
+            } else {
+                indexes.add(i);
+                jobs.add(toJob(jobDTO, poster));
+            }
         }
-        Job job = Job.builder()
+
+        jobRepository.saveAll(jobs);
+        for (int k = 0; k < jobs.size(); k++) {
+            Job job = jobs.get(k);
+            schedule(job);
+            results[indexes.get(k)] = BulkItemResultDTO.builder()
+                    .index(indexes.get(k))
+                    .id(job.getId())
+                    .status(HttpStatus.OK.value())
+                    .message(JOB_POSTED)
+                    .build();
+        }
+        log.info("Posted {} of {} jobs in bulk.", jobs.size(), jobDTOs.size());
+        return Arrays.asList(results);
+    }
+
+    private static Job toJob(JobDTO jobDTO, Actor poster) {
+        return Job.builder()
                 .description(jobDTO.getDescription())
                 .requirements(jobDTO.getRequirements())
                 .poster(poster)
@@ -120,9 +288,32 @@ public class JobService {
                 .lowestBidAmount(Double.MAX_VALUE)
                 .bidCount(0.0)
                 .build();
-        jobRepository.save(job);
-        log.info("Job posted successfully with ID: {}", job.getId());
-        return "Job posted successfully!";
+    }
+
+    /**
+     Schedules a posted job for closing and lists it on the leaderboards of every node.
+     @param job the persisted job
+     **/
+    private void schedule(Job job) {
+        auctionCloseScheduler.register(job.getId(), job.getExpireAt());
+        if (job.getId() != null) {
+            hotJobsLeaderboard.add(JobDTO.builder()
+                    .jobId(job.getId())
+                    .description(job.getDescription())
+                    .requirements(job.getRequirements())
+                    .posterId(job.getPoster().getId())
+                    .expireAt(job.getExpireAt())
+                    .build(), 0);
+            cacheInvalidationBus.publishJobPosted(job.getId());
+        }
+    }
+
+    private static BulkItemResultDTO failed(int index, HttpStatus status, String message) {
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .status(status.value())
+                .message(message)
+                .build();
     }
 
     /**
@@ -131,15 +322,9 @@ public class JobService {
      @return the details of the job as a JobDTO
      **/
     public JobDTO getJob(Long jobId) {
-        log.info("Fetching details for job ID: {}", jobId);
-        return jobRepository.findById(jobId)
-                .map(j -> JobDTO.builder()
-                        .jobId(j.getId())
-                        .description(j.getDescription())
-                        .requirements(j.getRequirements())
-                        .posterId(j.getPoster().getId())
-                        .expireAt(j.getExpireAt())
-                        .build())
+        log.debug("Fetching details for job ID: {}", jobId);
+        return jobRepository.findListingById(jobId)
+                .map(JobListingDTO::toJobDTO)
                 .orElseThrow(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, "Job not found", "Job not found"));
     }
 }
@@ -0,0 +1,134 @@
+package org.example.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.example.cache.JobSummaryCache;
+import org.example.dtos.BidDTO;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.dtos.ProxyBidDTO;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.ReactiveJobRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ Non-blocking variant of {@link BidService} for the reactive profile. The polling endpoints are answered from the
+ job summary cache, and misses are loaded over R2DBC instead of blocking the request thread on JDBC. Placing a bid
+ and the bulk and proxy bid operations still go through the blocking BidService on the bounded elastic scheduler.
+ **/
+@Service
+@Profile("reactive")
+@Log4j2
+@AllArgsConstructor
+public class ReactiveBidService {
+    private static final String JOB_NOT_FOUND = "Job not found";
+
+    private final ReactiveJobRepository reactiveJobRepository;
+    private final JobSummaryCache jobSummaryCache;
+    private final BidService bidService;
+
+    /**
+     Places a bid through the blocking BidService, off the request thread.
+     @param jobId the ID of the job
+     @param bidAmount the amount of the bid
+     @param bidderId the ID of the bidder
+     @return a success message
+     **/
+    public Mono<String> placeBid(Long jobId, Double bidAmount, Long bidderId) {
+        return Mono.fromCallable(() -> bidService.placeBid(jobId, bidAmount, bidderId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Places many bids through the blocking BidService, off the request thread.
+     @param bids the bids to place, at most 1000
+     @return the result of each bid, in order
+     **/
+    public Mono<List<BulkItemResultDTO>> placeBids(List<BidDTO> bids) {
+        return Mono.fromCallable(() -> bidService.placeBids(bids))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Registers a proxy bid through the blocking BidService, off the request thread.
+     @param proxyBid the job, bidder, first amount, floor amount and decrement of the proxy
+     @return a success message
+     **/
+    public Mono<String> registerProxyBid(ProxyBidDTO proxyBid) {
+        return Mono.fromCallable(() -> bidService.registerProxyBid(proxyBid))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Cancels a proxy bid through the blocking BidService, off the request thread.
+     @param jobId the ID of the job
+     @param bidderId the ID of the bidder
+     @return a success message
+     **/
+    public Mono<String> cancelProxyBid(Long jobId, Long bidderId) {
+        return Mono.fromCallable(() -> bidService.cancelProxyBid(jobId, bidderId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Gets the lowest bid amount for a specific job.
+     @param jobId the ID of the job
+     @return the lowest bid amount
+     **/
+    public Mono<Double> getLowestBidAmount(Long jobId) {
+        return getSummary(jobId).map(JobSummaryDTO::getLowestBidAmount);
+    }
+
+    /**
+     Gets the total bid count for a specific job.
+     @param jobId the ID of the job
+     @return the number of bids placed on the job
+     **/
+    public Mono<Double> getBidCount(Long jobId) {
+        return getSummary(jobId).map(JobSummaryDTO::getBidCount);
+    }
+
+    /**
+     Gets the expiration time of the auction for a specific job.
+     @param jobId the ID of the job
+     @return the expiration time of the auction
+     **/
+    public Mono<LocalDateTime> getAuctionExpiration(Long jobId) {
+        return getSummary(jobId).map(JobSummaryDTO::getExpireAt);
+    }
+
+    /**
+     Gets the remaining time before the auction for a specific job expires.
+     @param jobId the ID of the job
+     @return the remaining time before auction expiration
+     **/
+    public Mono<Duration> getTimeRemaining(Long jobId) {
+        return getSummary(jobId).map(summary -> Duration.between(LocalDateTime.now(), summary.getExpireAt()));
+    }
+
+    /**
+     Gets the cached bid statistics of a job, loading a miss over R2DBC.
+     @param jobId the ID of the job
+     @return the job summary
+     **/
+    private Mono<JobSummaryDTO> getSummary(Long jobId) {
+        return Mono.defer(() -> {
+            log.debug("Retrieving bid statistics for job ID: {}", jobId);
+            JobSummaryDTO cached = jobSummaryCache.getIfPresent(jobId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return reactiveJobRepository.findSummaryById(jobId)
+                    .map(jobSummaryCache::put)
+                    .switchIfEmpty(Mono.error(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, JOB_NOT_FOUND, JOB_NOT_FOUND)));
+        });
+    }
+}
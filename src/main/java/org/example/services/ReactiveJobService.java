@@ -0,0 +1,133 @@
+package org.example.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.JobDTO;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.enums.JobRanking;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.ReactiveJobRepository;
+import org.example.utils.PageCursor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ Non-blocking variant of {@link JobService} for the reactive profile. Reads go through R2DBC and never hold a
+ request thread while waiting on the database. Posting jobs still goes through the blocking JobService on the
+ bounded elastic scheduler, since it registers the jobs with the closing scheduler and the leaderboard, and so does
+ search.
+ **/
+@Service
+@Profile("reactive")
+@Log4j2
+@AllArgsConstructor
+public class ReactiveJobService {
+    private static final int RECENT_JOBS = 10;
+
+    private final ReactiveJobRepository reactiveJobRepository;
+    private final JobService jobService;
+
+    /**
+     Retrieves the 10 most recently posted jobs.
+     @return a list of JobDTOs
+     **/
+    public Mono<List<JobDTO>> getRecentJobs() {
+        log.debug("Fetching 10 most recent jobs.");
+        return reactiveJobRepository.findRecentListings(RECENT_JOBS)
+                .map(JobListingDTO::toJobDTO)
+                .collectList();
+    }
+
+    /**
+     Retrieves the hottest open jobs from the in-memory leaderboard.
+     @param ranking rank by total bid count or by bids within the sliding window
+     @param limit the number of jobs to return, at most 100
+     @return a list of JobDTOs
+     **/
+    public Mono<List<JobDTO>> getActiveJobs(JobRanking ranking, int limit) {
+        return Mono.fromSupplier(() -> jobService.getActiveJobs(ranking, limit));
+    }
+
+    /**
+     Retrieves a page of jobs using keyset pagination, same contract as {@link JobService#getJobs}.
+     @return the page of jobs and the token of the next page
+     **/
+    public Mono<JobPageDTO> getJobs(JobSort sort, JobStatus status, Long posterId, LocalDateTime expiresAfter,
+                                    LocalDateTime expiresBefore, String cursor, int limit) {
+        return Mono.defer(() -> {
+            log.debug("Fetching a page of jobs sorted by {}.", sort);
+            int pageSize = JobService.pageSize(limit);
+            if (JobService.isRanked(sort, status, posterId, expiresAfter, expiresBefore)) {
+                // Paged on the leaderboard, the listings of the page are loaded by ID through JPA
+                return Mono.fromCallable(() -> jobService.getJobs(sort, status, posterId, expiresAfter, expiresBefore,
+                        cursor, limit)).subscribeOn(Schedulers.boundedElastic());
+            }
+            PageCursor position = PageCursor.decode(cursor, sort);
+            Object cursorKey = null;
+            if (position != null) {
+                cursorKey = sort == JobSort.BIDS ? position.bidCountKey() : position.postedAtKey();
+            }
+            // Fetch one extra row to know whether there is a next page
+            return reactiveJobRepository.findPage(sort, status, posterId, expiresAfter, expiresBefore, cursorKey,
+                            position == null ? null : position.id(), pageSize + 1)
+                    .collectList()
+                    .map(jobs -> JobService.toPage(jobs, pageSize, sort));
+        });
+    }
+
+    /**
+     Posts a new job through the blocking JobService, off the request thread.
+     @param jobDTO the details of the job to be posted
+     @return a success message
+     **/
+    public Mono<String> postJob(JobDTO jobDTO) {
+        return Mono.fromCallable(() -> jobService.postJob(jobDTO))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Posts many jobs through the blocking JobService, off the request thread.
+     @param jobs the jobs to post, at most 1000
+     @return the result of each job, in order
+     **/
+    public Mono<List<BulkItemResultDTO>> postJobs(List<JobDTO> jobs) {
+        return Mono.fromCallable(() -> jobService.postJobs(jobs))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Searches jobs through the blocking JobService, off the request thread. Full-text search needs the PostgreSQL
+     search index and runs over JDBC.
+     @param query the search terms, quoted phrases, OR and -excluded terms are supported
+     @param status only jobs with this status, or null for any
+     @param page the zero-based page number
+     @param limit the maximum number of jobs to return
+     @return the page of matching jobs
+     **/
+    public Mono<List<JobDTO>> searchJobs(String query, JobStatus status, int page, int limit) {
+        return Mono.fromCallable(() -> jobService.searchJobs(query, status, page, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     Retrieves details of a specific job.
+     @param jobId the ID of the job
+     @return the details of the job as a JobDTO
+     **/
+    public Mono<JobDTO> getJob(Long jobId) {
+        log.debug("Fetching details for job ID: {}", jobId);
+        return reactiveJobRepository.findListingById(jobId)
+                .map(JobListingDTO::toJobDTO)
+                .switchIfEmpty(Mono.error(() -> new MarketPlaceException(HttpStatus.NOT_FOUND, "Job not found", "Job not found")));
+    }
+}
@@ -2,15 +2,17 @@ package org.example.services;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.example.cache.CacheInvalidationBus;
+import org.example.cache.UserPrincipalCache;
 import org.example.dtos.LoginDTO;
 import org.example.dtos.UserRegistrationDTO;
 import org.example.entities.Actor;
 import org.example.enums.RoleEnum;
 import org.example.exceptions.MarketPlaceException;
 import org.example.repositories.UserRepository;
+import org.example.security.PasswordHashingService;
 import org.example.utils.JwtTokenUtil;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +25,10 @@ import java.util.Map;
 @AllArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenUtil jwtTokenUtil;
+    private final UserPrincipalCache userPrincipalCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      Registers a new user.
@@ -47,7 +51,7 @@ public class UserService {
         Actor actor = Actor.builder()
                 .username(userRegistrationDTO.getUsername())
                 .email(userRegistrationDTO.getEmail())
-                .password(encoder.encode(userRegistrationDTO.getPassword()))
+                .password(passwordHashingService.encode(userRegistrationDTO.getPassword()))
                 .build();
 
         if ("poster".equalsIgnoreCase(userRegistrationDTO.getRole().toString())) {
@@ -60,17 +64,19 @@ public class UserService {
         }
 
         userRepository.save(actor);
+        userPrincipalCache.invalidate(actor.getUsername());
+        cacheInvalidationBus.publishUserChanged(actor.getUsername());
         log.info("User registered successfully with username: {}", userRegistrationDTO.getUsername());
     }
 
     /**
-     Finds an actor by username.
+     Finds an actor by username through the shared user principal cache.
      @param username the username of the actor
      @return the actor, or null if not found
      **/
     public Actor findByUsername(String username) {
-        log.info("Searching for user by username: {}", username);
-        return userRepository.findByUsername(username).orElse(null);
+        log.debug("Searching for user by username: {}", username);
+        return userPrincipalCache.get(username);
     }
 
     /**
@@ -79,7 +85,7 @@ public class UserService {
      @return a list of role names
      **/
     public List<String> getUserRoles(Actor actor) {
-        log.info("Retrieving roles for user ID: {}", actor.getId());
+        log.debug("Retrieving roles for user ID: {}", actor.getId());
         return List.of(actor.getRole().toString());
     }
 
@@ -93,7 +99,8 @@ public class UserService {
         Actor actor = userRepository.findByUsername(loginDTO.getUsername()).orElse(null);
 
         if (actor != null) {
-            if (encoder.matches(loginDTO.getPassword(), actor.getPassword())) {
+            if (passwordHashingService.matches(loginDTO.getPassword(), actor.getPassword())) {
+                rehashIfOutdated(actor, loginDTO.getPassword());
                 String token = jwtTokenUtil.generateAccessToken(actor, getUserRoles(actor));
                 Map<String, Object> response = new HashMap<>();
                 response.put("message", "User logged in successfully!");
@@ -107,4 +114,21 @@ public class UserService {
             throw new MarketPlaceException(HttpStatus.BAD_REQUEST, "Username not found!", "Username not found!");
         }
     }
+
+    /**
+     Hashes the password again when it was stored with a weaker cost factor than the configured one.
+     The raw password is only known at login, so this is the one place the upgrade can happen.
+     @param actor the authenticated actor
+     @param rawPassword the raw password the actor logged in with
+     **/
+    private void rehashIfOutdated(Actor actor, String rawPassword) {
+        if (!passwordHashingService.upgradeEncoding(actor.getPassword())) {
+            return;
+        }
+        actor.setPassword(passwordHashingService.encode(rawPassword));
+        userRepository.save(actor);
+        userPrincipalCache.invalidate(actor.getUsername());
+        cacheInvalidationBus.publishUserChanged(actor.getUsername());
+        log.info("Rehashed password of user ID: {} with the current cost factor.", actor.getId());
+    }
 }
@@ -9,6 +9,7 @@ import com.auth0.jwt.exceptions.SignatureVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.example.entities.Actor;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,12 +27,16 @@ public class JwtTokenUtil {
     @Value("${auth.jwt-expiration-ms}")
     private long accessTokenExpiration;
 
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
     /**
-     Gets the signing algorithm for JWT based on the secret key.
-     @return the HMAC256 signing algorithm
+     Builds the signing algorithm and the verifier once, both are immutable and thread-safe.
      **/
-    private Algorithm getSigningAlgorithm() {
-        return Algorithm.HMAC256(secretKey.getBytes());
+    @PostConstruct
+    public void init() {
+        algorithm = Algorithm.HMAC256(secretKey.getBytes());
+        verifier = JWT.require(algorithm).build();
     }
 
     /**
@@ -42,9 +47,7 @@ public class JwtTokenUtil {
      **/
     public DecodedJWT decodeJWT(String token) {
         try {
-            log.info("Decoding JWT token...");
-            Algorithm algorithm = getSigningAlgorithm();
-            JWTVerifier verifier = JWT.require(algorithm).build();
+            log.debug("Decoding JWT token...");
             return verifier.verify(token);
         } catch (TokenExpiredException ex) {
             log.error("JWT token has expired.", ex);
@@ -69,7 +72,6 @@ public class JwtTokenUtil {
      **/
     public String generateAccessToken(Actor user, List<String> roles) {
         log.info("Generating access token for user: {}", user.getUsername());
-        Algorithm algorithm = getSigningAlgorithm();
         return JWT.create()
                 .withSubject(user.getUsername())
                 .withExpiresAt(new Date(System.currentTimeMillis() + accessTokenExpiration))
@@ -0,0 +1,96 @@
+package org.example.utils;
+
+import org.example.dtos.JobListingDTO;
+import org.example.enums.JobSort;
+import org.example.exceptions.MarketPlaceException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ Position of a keyset-paginated listing: the sort it belongs to, the sort key of the last row and its ID
+ as a tie-breaker. Handed to clients as an opaque URL-safe token.
+ @param sort the sort order of the listing
+ @param key the sort key of the last row returned
+ @param id the ID of the last row returned
+ **/
+public record PageCursor(JobSort sort, String key, Long id) {
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Invalid page cursor";
+
+    /**
+     Creates the cursor continuing after a row of a listing.
+     @param last the last row returned
+     @param sort the sort order of the listing
+     @return the cursor
+     **/
+    public static PageCursor after(JobListingDTO last, JobSort sort) {
+        String key = sort == JobSort.BIDS ? String.valueOf(last.getBidCount()) : last.getPostedAt().toString();
+        return new PageCursor(sort, key, last.getJobId());
+    }
+
+    /**
+     Parses the key of a cursor of the RECENT listing.
+     @return the posting time of the last row
+     @throws MarketPlaceException if the key is not a timestamp
+     **/
+    public LocalDateTime postedAtKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException ex) {
+            throw invalid(encode());
+        }
+    }
+
+    /**
+     Parses the key of a cursor of the BIDS listing.
+     @return the bid count of the last row
+     @throws MarketPlaceException if the key is not a number
+     **/
+    public Double bidCountKey() {
+        try {
+            return Double.valueOf(key);
+        } catch (NumberFormatException ex) {
+            throw invalid(encode());
+        }
+    }
+
+    /**
+     Encodes the cursor into an opaque token.
+     @return the token
+     **/
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     Decodes a token produced by {@link #encode()}.
+     @param token the token
+     @param expectedSort the sort order of the requested listing
+     @return the cursor, or null if no token was given
+     @throws MarketPlaceException if the token is malformed or belongs to another sort order
+     **/
+    public static PageCursor decode(String token, JobSort expectedSort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length == 3 && JobSort.valueOf(parts[0]) == expectedSort) {
+                return new PageCursor(expectedSort, parts[1], Long.valueOf(parts[2]));
+            }
+        } catch (IllegalArgumentException ex) {
+            // Falls through to the error below, NumberFormatException is an IllegalArgumentException too
+        }
+        throw invalid(token);
+    }
+
+    private static MarketPlaceException invalid(String token) {
+        return new MarketPlaceException(HttpStatus.BAD_REQUEST, INVALID_CURSOR, INVALID_CURSOR + ": " + token);
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.engine.AuctionEngine;
+import org.example.engine.HotJobsLeaderboard;
+import org.example.services.AuctionFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+    @Mock
+    JobSummaryCache jobSummaryCache;
+    @Mock
+    UserPrincipalCache userPrincipalCache;
+    @Mock
+    AuctionEngine auctionEngine;
+    @Mock
+    HotJobsLeaderboard hotJobsLeaderboard;
+    @Mock
+    AuctionFeedService auctionFeedService;
+
+    CacheInvalidationBus sender;
+    CacheInvalidationBus receiver;
+
+    @BeforeEach
+    void setUp() {
+        // Never started, messages are handed over directly instead of through PostgreSQL
+        sender = bus();
+        receiver = bus();
+    }
+
+    private CacheInvalidationBus bus() {
+        return new CacheInvalidationBus(jobSummaryCache, userPrincipalCache, auctionEngine, hotJobsLeaderboard,
+                auctionFeedService, null, null, new ObjectMapper(), new SimpleMeterRegistry(), true, 10);
+    }
+
+    @Test
+    @DisplayName("Coalesces the changes of a job into one reload")
+    void coalescesJobChanges() {
+        sender.publishJobChanged(1L);
+        sender.publishJobChanged(1L);
+        sender.publishJobChanged(1L);
+        sender.publishJobClosed(2L);
+        sender.publishJobPosted(3L);
+        sender.publishUserChanged("bob");
+
+        List<String> payloads = sender.drain();
+        assertEquals(1, payloads.size());
+        payloads.forEach(receiver::receive);
+
+        verify(auctionEngine, times(1)).refresh(1L);
+        verify(jobSummaryCache, times(1)).invalidate(1L);
+        verify(auctionFeedService).publish(1L);
+        verify(auctionEngine).close(2L);
+        verify(hotJobsLeaderboard).remove(2L);
+        verify(hotJobsLeaderboard).add(3L);
+        verify(jobSummaryCache).invalidate(2L);
+        verify(userPrincipalCache).invalidate("bob");
+        verify(jobSummaryCache, never()).invalidateAll();
+        verify(jobSummaryCache, never()).updateBidStats(any(), anyDouble(), anyDouble());
+        assertTrue(sender.drain().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Adds up the bids of a job for the leaderboards of the other nodes")
+    void sendsBidCounts() {
+        sender.publishBids(1L, 2);
+        sender.publishBids(1L, 1);
+        sender.publishBids(2L, 0);
+
+        List<String> payloads = sender.drain();
+        assertEquals(1, payloads.size());
+        payloads.forEach(receiver::receive);
+
+        verify(hotJobsLeaderboard).recordBids(1L, 3);
+        verify(hotJobsLeaderboard, never()).recordBids(eq(2L), anyInt());
+        assertTrue(sender.drain().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Splits large batches into several numbered messages")
+    void splitsLargeBatches() {
+        LongStream.rangeClosed(1, 250).forEach(sender::publishJobClosed);
+
+        List<String> payloads = sender.drain();
+        assertEquals(3, payloads.size());
+        payloads.forEach(receiver::receive);
+
+        verify(auctionEngine, times(250)).close(any());
+        verify(jobSummaryCache, never()).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Drops every cached job and user when messages of a node were missed")
+    void resyncsOnGap() {
+        sender.publishUserChanged("alice");
+        receiver.receive(sender.drain().get(0));
+        sender.publishUserChanged("bob");
+        sender.drain();
+        sender.publishUserChanged("carol");
+        receiver.receive(sender.drain().get(0));
+
+        verify(jobSummaryCache).invalidateAll();
+        verify(userPrincipalCache).invalidateAll();
+        verify(auctionEngine).refreshAll();
+        verify(hotJobsLeaderboard).rebuild();
+        verify(userPrincipalCache).invalidate("carol");
+        verify(userPrincipalCache, never()).invalidate("bob");
+    }
+
+    @Test
+    @DisplayName("Keeps detecting gaps of a node after a resync")
+    void resyncsOnLaterGap() {
+        sender.publishUserChanged("alice");
+        receiver.receive(sender.drain().get(0));
+        sender.publishUserChanged("bob");
+        sender.drain();
+        sender.publishUserChanged("carol");
+        receiver.receive(sender.drain().get(0));
+        // Missed right after the resync
+        sender.publishUserChanged("dave");
+        sender.drain();
+        sender.publishUserChanged("erin");
+        receiver.receive(sender.drain().get(0));
+
+        verify(jobSummaryCache, times(2)).invalidateAll();
+        verify(userPrincipalCache, times(2)).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Ignores its own messages")
+    void ignoresOwnMessages() {
+        sender.publishJobClosed(1L);
+
+        sender.drain().forEach(sender::receive);
+
+        verifyNoInteractions(auctionEngine, jobSummaryCache, auctionFeedService);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.cache;
+
+import org.example.dtos.JobSummaryDTO;
+import org.example.engine.AuctionEngine;
+import org.example.engine.AuctionState;
+import org.example.enums.JobStatus;
+import org.example.repositories.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobSummaryCacheTest {
+    @Mock
+    JobRepository jobRepository;
+    @Mock
+    AuctionEngine auctionEngine;
+
+    JobSummaryCache jobSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        jobSummaryCache = new JobSummaryCache(jobRepository, auctionEngine, 100, 60000);
+    }
+
+    private static JobSummaryDTO summary(double lowest, double count) {
+        return JobSummaryDTO.builder()
+                .jobId(1L)
+                .lowestBidAmount(lowest)
+                .bidCount(count)
+                .expireAt(LocalDateTime.now().plusMinutes(10))
+                .status(JobStatus.OPEN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Loads a job once and serves repeated reads from memory")
+    void getCachesSummary() {
+        when(jobRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(500.0, 2.0)));
+
+        assertEquals(500.0, jobSummaryCache.get(1L).getLowestBidAmount());
+        assertEquals(2.0, jobSummaryCache.get(1L).getBidCount());
+
+        verify(jobRepository, times(1)).findSummaryById(1L);
+        assertEquals(1, jobSummaryCache.getStats().hitCount());
+        assertEquals(1, jobSummaryCache.getStats().missCount());
+    }
+
+    @Test
+    @DisplayName("Prefers the auction engine statistics over the persisted ones")
+    void getOverlaysEngineState() {
+        when(jobRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(500.0, 2.0)));
+        when(auctionEngine.getState(1L)).thenReturn(new AuctionState(1L, LocalDateTime.now().plusMinutes(10),
+                JobStatus.OPEN, 300.0, 4.0));
+
+        assertEquals(300.0, jobSummaryCache.get(1L).getLowestBidAmount());
+        assertEquals(4.0, jobSummaryCache.get(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Updates bid statistics in place and ignores stale updates")
+    void updateBidStats() {
+        when(jobRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(500.0, 2.0)));
+        jobSummaryCache.get(1L);
+
+        jobSummaryCache.updateBidStats(1L, 400.0, 4.0);
+        jobSummaryCache.updateBidStats(1L, 450.0, 3.0);
+
+        assertEquals(400.0, jobSummaryCache.get(1L).getLowestBidAmount());
+        assertEquals(4.0, jobSummaryCache.get(1L).getBidCount());
+        verify(jobRepository, times(1)).findSummaryById(1L);
+    }
+
+    @Test
+    @DisplayName("Reloads a job after invalidation and does not cache missing jobs")
+    void invalidate() {
+        when(jobRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(500.0, 2.0)));
+        when(jobRepository.findSummaryById(2L)).thenReturn(Optional.empty());
+        jobSummaryCache.get(1L);
+
+        jobSummaryCache.invalidate(1L);
+        jobSummaryCache.get(1L);
+
+        assertNull(jobSummaryCache.get(2L));
+        verify(jobRepository, times(2)).findSummaryById(1L);
+    }
+}
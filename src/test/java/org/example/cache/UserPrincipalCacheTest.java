@@ -0,0 +1,90 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.entities.Actor;
+import org.example.enums.RoleEnum;
+import org.example.repositories.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+    @Mock
+    UserRepository userRepository;
+
+    private static Actor user(RoleEnum role) {
+        return Actor.builder().id(1L).username("user").password("hash").role(role).build();
+    }
+
+    @Test
+    @DisplayName("Loads a user once and reloads it after invalidation")
+    void cachesUntilInvalidated() {
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), 100, 60000, false);
+        when(userRepository.findByUsername("user"))
+                .thenReturn(Optional.of(user(RoleEnum.BIDDER)))
+                .thenReturn(Optional.of(user(RoleEnum.POSTER)));
+
+        assertEquals(RoleEnum.BIDDER, cache.get("user").getRole());
+        assertEquals(RoleEnum.BIDDER, cache.get("user").getRole());
+        cache.invalidate("user");
+
+        assertEquals(RoleEnum.POSTER, cache.get("user").getRole());
+        verify(userRepository, times(2)).findByUsername("user");
+        assertEquals(1, cache.getStats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Forgets a verified bidder when its user is invalidated")
+    void invalidatesBidders() {
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), 100, 60000, false);
+        cache.putBidder(1L, "user");
+        cache.putBidder(2L, "other");
+
+        cache.invalidate("user");
+
+        assertFalse(cache.isBidder(1L));
+        assertTrue(cache.isBidder(2L));
+        cache.invalidateAll();
+        assertFalse(cache.isBidder(2L));
+    }
+
+    @Test
+    @DisplayName("Does not cache unknown users")
+    void unknownUsersAreNotCached() {
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), 100, 60000, false);
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertNull(cache.get("ghost"));
+        assertNull(cache.get("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    @DisplayName("Serves preloaded users without querying them")
+    void preloadsUsers() {
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, new SimpleMeterRegistry(), 100, 60000, true);
+        when(userRepository.findAll(PageRequest.of(0, 100))).thenReturn(new PageImpl<>(List.of(user(RoleEnum.BIDDER))));
+
+        cache.preload();
+
+        assertEquals(1L, cache.get("user").getId());
+        verify(userRepository, never()).findByUsername("user");
+    }
+}
@@ -0,0 +1,383 @@
+package org.example.engine;
+
+import org.example.dtos.BidDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.entities.Job;
+import org.example.enums.BidOutcome;
+import org.example.enums.JobStatus;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.JobRepository;
+import org.example.services.BidPersistenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuctionEngineTest {
+    @Mock
+    BidPersistenceService bidPersistenceService;
+    @Mock
+    JobRepository jobRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    AuctionEngine auctionEngine;
+
+    @BeforeEach
+    void setUp() {
+        auctionEngine = new AuctionEngine(bidPersistenceService, jobRepository, eventPublisher, true, 4, 1024, 2000);
+        lenient().when(bidPersistenceService.enqueue(any(), anyDouble(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        auctionEngine.shutdown();
+    }
+
+    // Reads the row right away, as the write-behind writer does once the bids queued before are written
+    @SuppressWarnings("unchecked")
+    private void readRowsInline() {
+        when(bidPersistenceService.afterQueued(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.getArgument(0, Supplier.class).get()));
+    }
+
+    // Waits for the tasks queued on the shard of the job, and for the ones they queue in turn up to the given depth
+    private void awaitShard(Long jobId, int depth) {
+        for (int i = 0; i < depth; i++) {
+            auctionEngine.cancelProxy(jobId, 0L);
+        }
+    }
+
+    private static Job openJob(LocalDateTime expireAt) {
+        return Job.builder()
+                .expireAt(expireAt)
+                .status(JobStatus.OPEN)
+                .lowestBidAmount(Double.MAX_VALUE)
+                .bidCount(0.0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Accepts bids and keeps the lowest amount and count in memory")
+    void placeBidUpdatesAggregates() {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+        assertEquals(BidOutcome.ACCEPTED, auctionEngine.placeBid(1L, 3000.0, 9L).outcome());
+        assertEquals(BidOutcome.ACCEPTED, auctionEngine.placeBid(1L, 2500.0, 9L).outcome());
+        assertEquals(BidOutcome.ACCEPTED, auctionEngine.placeBid(1L, 2800.0, 9L).outcome());
+
+        verify(bidPersistenceService).enqueue(eq(1L), eq(2800.0), eq(9L), any());
+        assertEquals(2500.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(3.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Rejects bids on expired and closed auctions")
+    void placeBidRejectsClosedAuctions() {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().minusMinutes(1)));
+        auctionEngine.track(2L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.close(2L);
+
+        assertEquals(BidOutcome.EXPIRED, auctionEngine.placeBid(1L, 1000.0, 9L).outcome());
+        assertEquals(BidOutcome.EXPIRED, auctionEngine.placeBid(2L, 1000.0, 9L).outcome());
+        assertFalse(auctionEngine.isTracking(2L));
+        verify(bidPersistenceService, never()).enqueue(any(), anyDouble(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Throttles bids without touching the auction when the write-behind queue is full")
+    void placeBidThrottled() {
+        when(bidPersistenceService.enqueue(any(), anyDouble(), any(), any()))
+                .thenReturn(null);
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+        assertEquals(BidOutcome.THROTTLED, auctionEngine.placeBid(1L, 1000.0, 9L).outcome());
+        assertTrue(auctionEngine.isAcceptingBids(1L));
+        assertEquals(0.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Fails the bid when the durable acknowledgement fails")
+    void placeBidAckFailure() {
+        when(bidPersistenceService.enqueue(any(), anyDouble(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database down")));
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class,
+                () -> auctionEngine.placeBid(1L, 1000.0, 9L));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Concurrent bids on one job are all counted")
+    void placeBidUnderContention() throws InterruptedException {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        ExecutorService bidders = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            double amount = 10_000.0 - i;
+            bidders.execute(() -> auctionEngine.placeBid(1L, amount, 9L));
+        }
+        bidders.shutdown();
+        assertTrue(bidders.awaitTermination(10, TimeUnit.SECONDS));
+
+        verify(bidPersistenceService, times(1000)).enqueue(eq(1L), anyDouble(), eq(9L), any());
+        assertEquals(9001.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(1000.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Applies bulk bids without waiting on each acknowledgement")
+    void placeBidsAwaitsAcknowledgementsTogether() {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.track(2L, openJob(LocalDateTime.now().minusMinutes(1)));
+        CompletableFuture<Void> batch = new CompletableFuture<>();
+        when(bidPersistenceService.enqueue(eq(1L), anyDouble(), any(), any())).thenReturn(batch);
+
+        List<CompletableFuture<BidPlacement>> outcomes = auctionEngine.placeBids(List.of(
+                new BidDTO(3000.0, 1L, 9L), new BidDTO(2500.0, 1L, 9L), new BidDTO(100.0, 2L, 9L),
+                new BidDTO(100.0, 3L, 9L)));
+
+        assertEquals(BidOutcome.EXPIRED, outcomes.get(2).join().outcome());
+        assertEquals(BidOutcome.EXPIRED, outcomes.get(3).join().outcome());
+        assertFalse(outcomes.get(0).isDone());
+        batch.complete(null);
+        assertEquals(BidOutcome.ACCEPTED, outcomes.get(0).join().outcome());
+        assertEquals(BidOutcome.ACCEPTED, outcomes.get(1).join().outcome());
+        assertEquals(2500.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(2.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Settles competing proxy bids in one step and writes only the resulting bids")
+    void registerProxySettlesCompetingProxies() {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+        assertEquals(new BidPlacement(BidOutcome.ACCEPTED, 1), auctionEngine.registerProxy(1L, 2L, 900.0, 500.0, 10.0));
+        assertEquals(900.0, auctionEngine.getState(1L).getLowestBidAmount());
+        // The rival proxy bids its floor and the first proxy undercuts it
+        assertEquals(new BidPlacement(BidOutcome.ACCEPTED, 2), auctionEngine.registerProxy(1L, 3L, 950.0, 600.0, 10.0));
+
+        verify(bidPersistenceService).enqueue(eq(1L), eq(900.0), eq(2L), any());
+        verify(bidPersistenceService).enqueue(eq(1L), eq(600.0), eq(3L), any());
+        verify(bidPersistenceService).enqueue(eq(1L), eq(590.0), eq(2L), any());
+        verify(bidPersistenceService, times(3)).enqueue(any(), anyDouble(), any(), any());
+        assertEquals(590.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(2L, auctionEngine.getState(1L).getLeadingBidderId());
+        assertEquals(3.0, auctionEngine.getState(1L).getBidCount());
+        assertFalse(auctionEngine.cancelProxy(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("Answers manual bids with the proxy until its floor is reached")
+    void proxyAnswersManualBids() {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.placeBid(1L, 1000.0, 1L);
+        auctionEngine.registerProxy(1L, 2L, 2000.0, 500.0, 25.0);
+        assertEquals(975.0, auctionEngine.getState(1L).getLowestBidAmount());
+
+        // Counts the answer of the proxy along with the bid
+        assertEquals(new BidPlacement(BidOutcome.ACCEPTED, 2), auctionEngine.placeBid(1L, 700.0, 1L));
+        assertEquals(675.0, auctionEngine.getState(1L).getLowestBidAmount());
+        auctionEngine.placeBid(1L, 510.0, 1L);
+        assertEquals(500.0, auctionEngine.getState(1L).getLowestBidAmount());
+        auctionEngine.placeBid(1L, 450.0, 1L);
+
+        assertEquals(450.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(1L, auctionEngine.getState(1L).getLeadingBidderId());
+        assertEquals(7.0, auctionEngine.getState(1L).getBidCount());
+        assertFalse(auctionEngine.cancelProxy(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Lets the earlier proxy win a tie on the floor amount")
+    void earlierProxyWinsTie() {
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.registerProxy(1L, 2L, 900.0, 500.0, 10.0);
+        auctionEngine.registerProxy(1L, 3L, 800.0, 500.0, 10.0);
+
+        verify(bidPersistenceService).enqueue(eq(1L), eq(500.0), eq(2L), any());
+        verify(bidPersistenceService, never()).enqueue(any(), anyDouble(), eq(3L), any());
+        assertEquals(2L, auctionEngine.getState(1L).getLeadingBidderId());
+        assertTrue(auctionEngine.cancelProxy(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Reloads the statistics of the job from its row when a bid cannot be written")
+    void placeBidAckFailureReloadsJob() {
+        when(bidPersistenceService.enqueue(any(), anyDouble(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database down")));
+        when(jobRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 3000.0, 2.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)));
+        readRowsInline();
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+        assertThrows(MarketPlaceException.class, () -> auctionEngine.placeBid(1L, 1000.0, 9L));
+        awaitShard(1L, 2);
+
+        verify(bidPersistenceService, never()).flush();
+        assertEquals(3000.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(2.0, auctionEngine.getState(1L).getBidCount());
+        verify(eventPublisher).publishEvent(new AuctionReconciledEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Refreshes the statistics of a job written around the engine and keeps its proxies")
+    void refreshReloadsJobAndKeepsProxies() {
+        when(bidPersistenceService.enqueue(any(), anyDouble(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(jobRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 700.0, 6.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)));
+        readRowsInline();
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.registerProxy(1L, 2L, 900.0, 500.0, 10.0);
+
+        auctionEngine.refresh(1L);
+        auctionEngine.refresh(2L);
+
+        awaitShard(1L, 2);
+        assertTrue(auctionEngine.cancelProxy(1L, 2L));
+        assertEquals(700.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(6.0, auctionEngine.getState(1L).getBidCount());
+        verify(jobRepository, never()).findSummaryById(2L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Keeps accepting bids while the row is read and applies them on top of it")
+    @SuppressWarnings("unchecked")
+    void refreshKeepsBidsAcceptedMeanwhile() {
+        when(jobRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 800.0, 5.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)));
+        CompletableFuture<Object> row = new CompletableFuture<>();
+        ArgumentCaptor<Supplier<Object>> read = ArgumentCaptor.forClass(Supplier.class);
+        when(bidPersistenceService.afterQueued(read.capture())).thenAnswer(invocation -> row);
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.placeBid(1L, 1000.0, 9L);
+
+        auctionEngine.refresh(1L);
+        // Queued behind the read of the row, so not part of it
+        assertEquals(BidOutcome.ACCEPTED, auctionEngine.placeBid(1L, 750.0, 8L).outcome());
+        assertEquals(BidOutcome.ACCEPTED, auctionEngine.placeBid(1L, 900.0, 7L).outcome());
+        row.complete(read.getValue().get());
+        awaitShard(1L, 1);
+
+        assertEquals(750.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(8L, auctionEngine.getState(1L).getLeadingBidderId());
+        assertEquals(7.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Reads the row again when refreshed while the row is read")
+    @SuppressWarnings("unchecked")
+    void refreshWhileReadingReadsAgain() {
+        when(jobRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 800.0, 5.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 600.0, 8.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)));
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        ArgumentCaptor<Supplier<Object>> read = ArgumentCaptor.forClass(Supplier.class);
+        when(bidPersistenceService.afterQueued(read.capture()))
+                .thenAnswer(invocation -> first)
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0, Supplier.class).get()));
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+        auctionEngine.refresh(1L);
+        auctionEngine.refresh(1L);
+        auctionEngine.refresh(1L);
+        awaitShard(1L, 1);
+        first.complete(read.getAllValues().get(0).get());
+        awaitShard(1L, 2);
+
+        assertEquals(600.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(8.0, auctionEngine.getState(1L).getBidCount());
+        verify(bidPersistenceService, times(2)).afterQueued(any());
+    }
+
+    @Test
+    @DisplayName("Reads the leading bidder along with the row so its proxy does not undercut its own bid")
+    void refreshReloadsLeadingBidder() {
+        when(jobRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 900.0, 1.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)));
+        when(jobRepository.findLeadingBidderId(1L)).thenReturn(Optional.of(2L));
+        readRowsInline();
+        auctionEngine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+        auctionEngine.registerProxy(1L, 2L, 900.0, 500.0, 10.0);
+
+        auctionEngine.refresh(1L);
+        awaitShard(1L, 2);
+
+        verify(bidPersistenceService, times(1)).enqueue(any(), anyDouble(), any(), any());
+        assertEquals(2L, auctionEngine.getState(1L).getLeadingBidderId());
+        assertEquals(900.0, auctionEngine.getState(1L).getLowestBidAmount());
+        assertEquals(1.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Resolves the proxies of a job loaded with bids once its leading bidder is read")
+    @SuppressWarnings("unchecked")
+    void trackReadsLeadingBidderBeforeResolvingProxies() {
+        when(jobRepository.findSummaryById(1L))
+                .thenReturn(Optional.of(new JobSummaryDTO(1L, 900.0, 3.0, LocalDateTime.now().plusMinutes(10), JobStatus.OPEN)));
+        when(jobRepository.findLeadingBidderId(1L)).thenReturn(Optional.of(5L));
+        CompletableFuture<Object> row = new CompletableFuture<>();
+        ArgumentCaptor<Supplier<Object>> read = ArgumentCaptor.forClass(Supplier.class);
+        when(bidPersistenceService.afterQueued(read.capture())).thenAnswer(invocation -> row);
+        Job job = openJob(LocalDateTime.now().plusMinutes(10));
+        job.setLowestBidAmount(900.0);
+        job.setBidCount(3.0);
+        auctionEngine.track(1L, job);
+
+        assertEquals(0, auctionEngine.registerProxy(1L, 2L, 900.0, 500.0, 10.0).bidsWritten());
+        verify(bidPersistenceService, never()).enqueue(any(), anyDouble(), any(), any());
+        row.complete(read.getValue().get());
+        awaitShard(1L, 1);
+
+        verify(bidPersistenceService).enqueue(eq(1L), eq(890.0), eq(2L), any());
+        assertEquals(2L, auctionEngine.getState(1L).getLeadingBidderId());
+        assertEquals(4.0, auctionEngine.getState(1L).getBidCount());
+    }
+
+    @Test
+    @DisplayName("Reports a queued bid as pending when its acknowledgement times out")
+    void placeBidAckTimeoutIsPending() {
+        AuctionEngine engine = new AuctionEngine(bidPersistenceService, jobRepository, eventPublisher, true, 1, 16, 100);
+        try {
+            when(bidPersistenceService.enqueue(any(), anyDouble(), any(), any())).thenReturn(new CompletableFuture<>());
+            engine.track(1L, openJob(LocalDateTime.now().plusMinutes(10)));
+
+            assertEquals(BidOutcome.PENDING, engine.placeBid(1L, 1000.0, 9L).outcome());
+            assertEquals(BidOutcome.PENDING, engine.placeBids(List.of(new BidDTO(900.0, 1L, 9L))).get(0).join().outcome());
+            assertEquals(2.0, engine.getState(1L).getBidCount());
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.engine;
+
+import org.example.dtos.JobDTO;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.enums.JobRanking;
+import org.example.enums.JobStatus;
+import org.example.repositories.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HotJobsLeaderboardTest {
+    @Mock
+    JobRepository jobRepository;
+
+    HotJobsLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new HotJobsLeaderboard(jobRepository, 60);
+    }
+
+    private static JobDTO job(long id) {
+        return JobDTO.builder().jobId(id).description("Job " + id).build();
+    }
+
+    private List<Long> topIds(JobRanking ranking, int limit) {
+        return leaderboard.top(ranking, limit).stream().map(JobDTO::getJobId).toList();
+    }
+
+    @Test
+    @DisplayName("Ranks jobs by bid count and moves them up as bids arrive")
+    void ranksByBidCount() {
+        leaderboard.add(job(1), 5);
+        leaderboard.add(job(2), 3);
+        leaderboard.add(job(3), 0);
+
+        leaderboard.recordBid(3L);
+        leaderboard.recordBid(2L);
+        leaderboard.recordBids(2L, 2);
+
+        assertEquals(List.of(2L, 1L), topIds(JobRanking.BID_COUNT, 2));
+        assertEquals(List.of(2L, 1L, 3L), topIds(JobRanking.BID_COUNT, 10));
+    }
+
+    @Test
+    @DisplayName("Rejects a velocity window without seconds")
+    void rejectsEmptyWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new HotJobsLeaderboard(jobRepository, 0));
+    }
+
+    @Test
+    @DisplayName("Ranks jobs by bids within the window and drops closed jobs")
+    void ranksByVelocityAndRemovesClosedJobs() {
+        leaderboard.add(job(1), 100);
+        leaderboard.add(job(2), 0);
+        leaderboard.recordBid(1L);
+        leaderboard.recordBid(2L);
+        leaderboard.recordBid(2L);
+        leaderboard.recordBid(99L);
+
+        assertEquals(List.of(2L, 1L), topIds(JobRanking.BID_VELOCITY, 10));
+
+        leaderboard.remove(2L);
+        leaderboard.refreshVelocity();
+
+        assertEquals(List.of(1L), topIds(JobRanking.BID_VELOCITY, 10));
+        assertEquals(List.of(1L), topIds(JobRanking.BID_COUNT, 10));
+    }
+
+    @Test
+    @DisplayName("Keeps exact counts and a single entry per job under concurrent bids")
+    void concurrentBids() throws InterruptedException {
+        for (long id = 1; id <= 10; id++) {
+            leaderboard.add(job(id), 0);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    leaderboard.recordBid(1L + i % 10);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        List<Long> top = topIds(JobRanking.BID_COUNT, 100);
+        assertEquals(10, top.size());
+        assertEquals(10, top.stream().distinct().count());
+        assertEquals(List.of(10L, 9L, 8L), topIds(JobRanking.BID_COUNT, 3));
+    }
+
+    @Test
+    @DisplayName("Rebuilds from bid counts and loads the details of the top jobs only")
+    void rebuildLoadsTopJobsOnly() {
+        when(jobRepository.findAllSummariesByStatus(JobStatus.OPEN)).thenReturn(List.of(
+                JobSummaryDTO.builder().jobId(1L).bidCount(2.0).build(),
+                JobSummaryDTO.builder().jobId(2L).bidCount(7.0).build(),
+                JobSummaryDTO.builder().jobId(3L).bidCount(4.0).build()));
+        when(jobRepository.findListingsByIdIn(List.of(2L, 3L))).thenReturn(List.of(
+                JobListingDTO.builder().jobId(2L).description("Job 2").build(),
+                JobListingDTO.builder().jobId(3L).description("Job 3").build()));
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(2L, 3L), topIds(JobRanking.BID_COUNT, 2));
+        // Served from the details loaded by the first call
+        assertEquals(List.of(2L, 3L), topIds(JobRanking.BID_COUNT, 2));
+        verify(jobRepository).findListingsByIdIn(List.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Pages by bid count after the last job of the previous page, across ties")
+    void pagesByBidCount() {
+        leaderboard.add(job(1), 5);
+        leaderboard.add(job(2), 3);
+        leaderboard.add(job(3), 5);
+        leaderboard.add(job(4), 1);
+
+        List<HotJobsLeaderboard.Entry> first = leaderboard.pageByBidCount(null, null, 2);
+        List<HotJobsLeaderboard.Entry> second = leaderboard.pageByBidCount(5.0, 1L, 2);
+
+        assertEquals(List.of(new HotJobsLeaderboard.Entry(3L, 5), new HotJobsLeaderboard.Entry(1L, 5)), first);
+        assertEquals(List.of(new HotJobsLeaderboard.Entry(2L, 3), new HotJobsLeaderboard.Entry(4L, 1)), second);
+        assertEquals(List.of(), leaderboard.pageByBidCount(1.0, 4L, 2));
+    }
+
+    @Test
+    @DisplayName("Drops jobs that are no longer open when rebuilt again")
+    void rebuildDropsClosedJobs() {
+        when(jobRepository.findAllSummariesByStatus(JobStatus.OPEN)).thenReturn(List.of(
+                JobSummaryDTO.builder().jobId(2L).bidCount(7.0).build()));
+        when(jobRepository.findListingsByIdIn(List.of(2L))).thenReturn(List.of(
+                JobListingDTO.builder().jobId(2L).description("Job 2").build()));
+        leaderboard.add(job(1), 9);
+        leaderboard.recordBid(1L);
+
+        leaderboard.rebuild();
+
+        assertEquals(List.of(2L), topIds(JobRanking.BID_COUNT, 10));
+        assertEquals(List.of(), topIds(JobRanking.BID_VELOCITY, 10));
+    }
+
+    @Test
+    @DisplayName("Leaves nothing behind for a job removed while bids are recorded")
+    void removeRacingBids() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (long id = 1; id <= 200; id++) {
+            leaderboard.add(job(id), 0);
+            long jobId = id;
+            CountDownLatch done = new CountDownLatch(3);
+            for (int t = 0; t < 3; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 20; i++) {
+                        leaderboard.recordBid(jobId);
+                    }
+                    done.countDown();
+                });
+            }
+            leaderboard.remove(jobId);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        // A leaked ranking entry would be loaded and listed
+        lenient().when(jobRepository.findListingsByIdIn(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+                .stream().map(id -> JobListingDTO.builder().jobId(id).build()).toList());
+
+        assertEquals(List.of(), topIds(JobRanking.BID_COUNT, 10));
+        assertEquals(List.of(), topIds(JobRanking.BID_VELOCITY, 10));
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+    private static final long TICK_MS = 10;
+    private static final long START_MS = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should expire a job on its deadline and not before")
+    void expiresOnDeadline() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, START_MS);
+        wheel.schedule(1L, START_MS + 1000);
+
+        assertTrue(wheel.advance(START_MS + 990).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(START_MS + 1000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade distant deadlines down to the exact tick")
+    void expiresDistantDeadlines() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, START_MS);
+        long[] offsets = {TimeUnit.SECONDS.toMillis(7), TimeUnit.MINUTES.toMillis(50), TimeUnit.DAYS.toMillis(3)};
+        for (int i = 0; i < offsets.length; i++) {
+            wheel.schedule((long) i, START_MS + offsets[i]);
+        }
+
+        for (int i = 0; i < offsets.length; i++) {
+            assertTrue(wheel.advance(START_MS + offsets[i] - TICK_MS).isEmpty());
+            assertEquals(List.of((long) i), wheel.advance(START_MS + offsets[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not expire cancelled jobs and honour the latest schedule")
+    void cancelAndReschedule() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, START_MS);
+        wheel.schedule(1L, START_MS + 100);
+        wheel.schedule(2L, START_MS + 100);
+        wheel.cancel(1L);
+        wheel.schedule(2L, START_MS + 5000);
+
+        assertTrue(wheel.advance(START_MS + 1000).isEmpty());
+        assertEquals(List.of(2L), wheel.advance(START_MS + 5000));
+    }
+
+    @Test
+    @DisplayName("Should expire past deadlines on the next advance")
+    void expiresOverdueJobs() {
+        TimingWheel wheel = new TimingWheel(TICK_MS, START_MS);
+        wheel.schedule(1L, START_MS - 60000);
+
+        assertEquals(List.of(1L), wheel.advance(START_MS));
+    }
+}
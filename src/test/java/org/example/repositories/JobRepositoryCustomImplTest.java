@@ -0,0 +1,109 @@
+package org.example.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.config.JobSearchIndex;
+import org.example.dtos.JobListingDTO;
+import org.example.enums.JobStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ Runs the search SQL against an embedded PostgreSQL, full-text search has no H2 equivalent.
+ **/
+class JobRepositoryCustomImplTest {
+    static EmbeddedPostgres postgres;
+    static JdbcTemplate jdbcTemplate;
+    static JobRepositoryCustomImpl jobRepositoryCustom;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        // Created the way the earlier search index left it, with the generated column
+        jdbcTemplate.execute("create table job (id bigint primary key, description varchar(255), "
+                + "requirements varchar(255), poster_id bigint, posted_at timestamp, expire_at timestamp, "
+                + "bid_count double precision not null, status varchar(16) not null, search_vector tsvector "
+                + "generated always as (to_tsvector('english', coalesce(description, ''))) stored)");
+        jdbcTemplate.execute("create index idx_job_search_vector on job using gin (search_vector)");
+        jdbcTemplate.update("insert into job (id, description, requirements, poster_id, posted_at, bid_count, status) values "
+                + "(1, 'Java developer for a payments backend', 'Spring', 1, now(), 0, 'OPEN'), "
+                + "(2, 'Frontend work', 'Java and React', 1, now(), 3, 'OPEN'), "
+                + "(3, 'Java migration of a legacy system', 'COBOL', 2, now(), 1, 'CLOSED'), "
+                + "(4, 'Garden landscaping', 'Shovels', 2, now(), 0, 'OPEN')");
+        new JobSearchIndex(jdbcTemplate, null, 2).create();
+        jobRepositoryCustom = new JobRepositoryCustomImpl(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Replaces the generated search column with a filled in column and index")
+    void createsIndex() {
+        assertEquals(List.of("NEVER"), jdbcTemplate.queryForList("select is_generated from information_schema.columns "
+                + "where table_name = 'job' and column_name = 'search_vector'", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from job where search_vector is null", Integer.class));
+        assertEquals(List.of(true), jdbcTemplate.queryForList("select i.indisvalid from pg_index i "
+                + "join pg_class c on c.oid = i.indexrelid where c.relname = 'idx_job_search'", Boolean.class));
+
+        // Running it again leaves the index alone
+        new JobSearchIndex(jdbcTemplate, null, 2).create();
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_class where relname like 'idx_job_search%'",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("Ranks matches in the description above matches in the requirements")
+    void searchRanksDescriptionFirst() {
+        List<JobListingDTO> jobs = jobRepositoryCustom.search("java", null, 0, 10);
+
+        assertEquals(3, jobs.size());
+        assertEquals(2L, jobs.get(2).getJobId());
+        assertEquals("Java and React", jobs.get(2).getRequirements());
+    }
+
+    @Test
+    @DisplayName("Indexes jobs posted and edited after the index was built")
+    void searchFindsNewAndEditedJobs() {
+        jdbcTemplate.update("insert into job (id, description, requirements, poster_id, posted_at, bid_count, status) "
+                + "values (5, 'Kotlin mobile app', 'Android', 1, now(), 0, 'OPEN')");
+        assertEquals(List.of(5L), ids(jobRepositoryCustom.search("kotlin", null, 0, 10)));
+
+        jdbcTemplate.update("update job set description = 'Swift mobile app' where id = 5");
+        assertTrue(jobRepositoryCustom.search("kotlin", null, 0, 10).isEmpty());
+        assertEquals(List.of(5L), ids(jobRepositoryCustom.search("swift", null, 0, 10)));
+        jdbcTemplate.update("delete from job where id = 5");
+    }
+
+    @Test
+    @DisplayName("Filters by status and pages by offset")
+    void searchFiltersAndPages() {
+        assertEquals(List.of(3L), ids(jobRepositoryCustom.search("java", JobStatus.CLOSED, 0, 10)));
+        List<Long> open = ids(jobRepositoryCustom.search("java", JobStatus.OPEN, 0, 10));
+        assertEquals(2, open.size());
+        assertEquals(open.subList(1, 2), ids(jobRepositoryCustom.search("java", JobStatus.OPEN, 1, 10)));
+    }
+
+    @Test
+    @DisplayName("Supports web search syntax")
+    void searchSupportsWebSearchSyntax() {
+        assertEquals(List.of(3L), ids(jobRepositoryCustom.search("java -payments -react", null, 0, 10)));
+        assertEquals(List.of(1L), ids(jobRepositoryCustom.search("\"payments backend\"", null, 0, 10)));
+        assertTrue(jobRepositoryCustom.search("plumbing", null, 0, 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<JobListingDTO> jobs) {
+        return jobs.stream().map(JobListingDTO::getJobId).toList();
+    }
+}
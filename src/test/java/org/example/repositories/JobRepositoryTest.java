@@ -0,0 +1,198 @@
+package org.example.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.engine.HotJobsLeaderboard;
+import org.example.entities.Actor;
+import org.example.entities.Bid;
+import org.example.entities.Job;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.example.enums.RoleEnum;
+import org.example.services.JobService;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ Guards the listing queries against N+1 regressions: every listing must be served by a single statement.
+ **/
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class JobRepositoryTest {
+    @Autowired
+    TestEntityManager entityManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    JobRepository jobRepository;
+    @Autowired
+    BidRepository bidRepository;
+
+    JobService jobService;
+    Statistics statistics;
+    Long jobId;
+    Long bidId;
+
+    @BeforeEach
+    void setUp() {
+        HotJobsLeaderboard hotJobsLeaderboard = new HotJobsLeaderboard(jobRepository, 60);
+        jobService = new JobService(jobRepository, null, null, null, hotJobsLeaderboard, null);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int p = 0; p < 3; p++) {
+            Actor poster = entityManager.persist(Actor.builder().username("poster" + p).email("poster" + p + "@example.org")
+                    .password("secret").role(RoleEnum.POSTER).build());
+            for (int j = 0; j < 5; j++) {
+                Job job = entityManager.persist(Job.builder().description("Job " + j).requirements("None").poster(poster)
+                        .postedAt(now.minusMinutes(p * 5L + j)).expireAt(now.plusDays(1)).status(JobStatus.OPEN)
+                        .lowestBidAmount(Double.MAX_VALUE).bidCount((double) j).build());
+                jobId = job.getId();
+            }
+        }
+        Actor bidder = entityManager.persist(Actor.builder().username("bidder").email("bidder@example.org")
+                .password("secret").role(RoleEnum.BIDDER).build());
+        bidId = entityManager.persist(Bid.builder().amount(10.0).bidTime(now)
+                .job(entityManager.find(Job.class, jobId)).bidder(bidder).build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+        hotJobsLeaderboard.rebuild();
+    }
+
+    private <T> T assertSingleStatement(Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    @Test
+    @DisplayName("Recent listings and the leaderboard rebuild are served by one statement")
+    void listingsUseOneStatement() {
+        assertEquals(10, assertSingleStatement(jobService::getRecentJobs).size());
+        assertEquals(15, assertSingleStatement(() -> jobRepository.findAllSummariesByStatus(JobStatus.OPEN)).size());
+        assertEquals(1, assertSingleStatement(() -> jobRepository.findListingsByIdIn(List.of(jobId))).size());
+    }
+
+    @Test
+    @DisplayName("Job details are served by one statement")
+    void jobDetailsUseOneStatement() {
+        assertNotNull(assertSingleStatement(() -> jobService.getJob(jobId)).getPosterId());
+    }
+
+    @Test
+    @DisplayName("Keyset pages cover every job once, in order, across ties of the sort key")
+    void pagesCoverEveryJobOnce() {
+        for (JobSort sort : JobSort.values()) {
+            List<JobListingDTO> jobs = new ArrayList<>();
+            String cursor = null;
+            do {
+                JobPageDTO page = jobService.getJobs(sort, JobStatus.OPEN, null, null, null, cursor, 4);
+                page.getJobs().forEach(job -> jobs.add(jobRepository.findListingById(job.getJobId()).orElseThrow()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            Comparator<JobListingDTO> order = sort == JobSort.BIDS
+                    ? Comparator.comparing(JobListingDTO::getBidCount) : Comparator.comparing(JobListingDTO::getPostedAt);
+            List<JobListingDTO> expected = new ArrayList<>(jobs);
+            expected.sort(order.thenComparing(JobListingDTO::getJobId).reversed());
+            assertEquals(15, jobs.stream().map(JobListingDTO::getJobId).distinct().count());
+            assertEquals(expected, jobs);
+        }
+    }
+
+    @Test
+    @DisplayName("Only the filters that are set restrict a page")
+    void pagesApplyFilters() {
+        Long posterId = jobRepository.findListingById(jobId).orElseThrow().getPosterId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(5, jobRepository.findPage(JobSort.RECENT, null, posterId, null, null, null, null, 20).size());
+        assertEquals(15, jobRepository.findPage(JobSort.BIDS, JobStatus.OPEN, null, now, now.plusDays(2), null, null, 20).size());
+        assertEquals(0, jobRepository.findPage(JobSort.RECENT, JobStatus.CLOSED, null, null, null, null, null, 20).size());
+        assertEquals(0, jobRepository.findPage(JobSort.RECENT, null, null, now.plusDays(2), null, null, null, 20).size());
+    }
+
+    @Test
+    @DisplayName("Loading a bid does not fetch its job or bidder")
+    void bidAssociationsAreLazy() {
+        Bid bid = assertSingleStatement(() -> bidRepository.findById(bidId).orElseThrow());
+        assertFalse(Hibernate.isInitialized(bid.getJob()));
+        assertFalse(Hibernate.isInitialized(bid.getBidder()));
+    }
+
+    @Test
+    @DisplayName("Claims only open jobs that expired, up to the limit")
+    void claimsExpiredOpenJobs() {
+        LocalDateTime later = LocalDateTime.now().plusDays(2);
+        assertEquals(0, jobRepository.claimExpiredJobs(LocalDateTime.now(), 10).size());
+        assertEquals(10, jobRepository.claimExpiredJobs(later, 10).size());
+
+        assertEquals(List.of(), jobRepository.claimOpenJobs(List.of(jobId), LocalDateTime.now()));
+        assertEquals(List.of(jobId), jobRepository.claimOpenJobs(List.of(jobId), later));
+        assertEquals(0, jobRepository.closeJobs(List.of(jobId), LocalDateTime.now()));
+        assertEquals(1, jobRepository.closeJobs(List.of(jobId), later));
+        assertEquals(List.of(), jobRepository.claimOpenJobs(List.of(jobId), later));
+        assertEquals(List.of(), jobRepository.findIdsByStatus(List.of(jobId), JobStatus.OPEN));
+        assertEquals(14, jobRepository.claimExpiredJobs(later, 20).size());
+    }
+
+    @Test
+    @DisplayName("Pages expired jobs by expiry time and ID, jobs expiring together included once")
+    void pagesExpiredSummaries() {
+        LocalDateTime later = LocalDateTime.now().plusDays(2);
+        List<Long> seen = new ArrayList<>();
+        List<JobSummaryDTO> page = jobRepository.findExpiredSummaries(JobStatus.OPEN, later, Limit.of(4));
+        while (!page.isEmpty()) {
+            page.forEach(job -> seen.add(job.getJobId()));
+            JobSummaryDTO last = page.get(page.size() - 1);
+            page = jobRepository.findExpiredSummariesAfter(JobStatus.OPEN, later, last.getExpireAt(), last.getJobId(),
+                    Limit.of(4));
+        }
+
+        assertEquals(15, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen);
+    }
+
+    @Test
+    @DisplayName("Awards a closed job to the earliest of its lowest bids, whatever their IDs")
+    void closeJobsPicksEarliestLowestBid() {
+        LocalDateTime now = LocalDateTime.now();
+        Job job = entityManager.find(Job.class, jobId);
+        Actor early = entityManager.persist(Actor.builder().username("early").email("early@example.org")
+                .password("secret").role(RoleEnum.BIDDER).build());
+        Actor late = entityManager.persist(Actor.builder().username("late").email("late@example.org")
+                .password("secret").role(RoleEnum.BIDDER).build());
+        // Written in a later batch, so it got the higher ID although it was placed first
+        entityManager.persist(Bid.builder().amount(5.0).bidTime(now.minusSeconds(1)).job(job).bidder(late).build());
+        entityManager.persist(Bid.builder().amount(5.0).bidTime(now.minusSeconds(2)).job(job).bidder(early).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, jobRepository.closeJobs(List.of(jobId), now.plusDays(2)));
+        entityManager.clear();
+        assertEquals(early.getId(), entityManager.find(Job.class, jobId).getWinner().getId());
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.repositories;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ Runs the R2DBC queries against an in-memory H2 database.
+ **/
+class ReactiveJobRepositoryTest {
+    ReactiveJobRepository reactiveJobRepository;
+    LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.create(H2ConnectionFactory.inMemory(UUID.randomUUID().toString()));
+        databaseClient.sql("create table job (id bigint primary key, description varchar(255), requirements varchar(255), "
+                + "poster_id bigint, winner_id bigint, posted_at timestamp, expire_at timestamp, "
+                + "lowest_bid_amount double precision, bid_count double precision not null, status varchar(16) not null)")
+                .then().block();
+        // Jobs 1 to 6, job 6 is the newest, poster 1 posted the odd ones, job 2 is closed
+        for (long id = 1; id <= 6; id++) {
+            databaseClient.sql("insert into job (id, description, requirements, poster_id, posted_at, expire_at, "
+                            + "lowest_bid_amount, bid_count, status) values (:id, :description, 'none', :posterId, "
+                            + ":postedAt, :expireAt, :lowest, :bidCount, :status)")
+                    .bind("id", id)
+                    .bind("description", "Job " + id)
+                    .bind("posterId", id % 2 == 1 ? 1L : 2L)
+                    .bind("postedAt", now.minusMinutes(10 - id))
+                    .bind("expireAt", now.plusHours(id))
+                    .bind("lowest", 100.0 - id)
+                    .bind("bidCount", (double) (id % 3))
+                    .bind("status", id == 2 ? "CLOSED" : "OPEN")
+                    .then().block();
+        }
+        reactiveJobRepository = new ReactiveJobRepository(databaseClient);
+    }
+
+    @Test
+    @DisplayName("Pages through the newest jobs with a keyset cursor and filters")
+    void findPageByPostedAt() {
+        List<JobListingDTO> firstPage = reactiveJobRepository.findPage(JobSort.RECENT, JobStatus.OPEN, null, null, null,
+                null, null, 2).collectList().block();
+        JobListingDTO last = firstPage.get(1);
+        List<JobListingDTO> secondPage = reactiveJobRepository.findPage(JobSort.RECENT, JobStatus.OPEN, null, null, null,
+                last.getPostedAt(), last.getJobId(), 10).collectList().block();
+        List<JobListingDTO> byPoster = reactiveJobRepository.findPage(JobSort.RECENT, null, 1L, null, now.plusHours(4),
+                null, null, 10).collectList().block();
+
+        assertEquals(List.of(6L, 5L), firstPage.stream().map(JobListingDTO::getJobId).toList());
+        assertEquals(List.of(4L, 3L, 1L), secondPage.stream().map(JobListingDTO::getJobId).toList());
+        assertEquals(List.of(3L, 1L), byPoster.stream().map(JobListingDTO::getJobId).toList());
+    }
+
+    @Test
+    @DisplayName("Pages through the jobs with the most bids, ties broken by ID")
+    void findPageByBidCount() {
+        List<JobListingDTO> firstPage = reactiveJobRepository.findPage(JobSort.BIDS, null, null, null, null,
+                null, null, 3).collectList().block();
+        JobListingDTO last = firstPage.get(2);
+        List<JobListingDTO> secondPage = reactiveJobRepository.findPage(JobSort.BIDS, null, null, null, null,
+                last.getBidCount(), last.getJobId(), 10).collectList().block();
+
+        assertEquals(List.of(5L, 2L, 4L), firstPage.stream().map(JobListingDTO::getJobId).toList());
+        assertEquals(List.of(1L, 6L, 3L), secondPage.stream().map(JobListingDTO::getJobId).toList());
+    }
+
+    @Test
+    @DisplayName("Reads single jobs and their bid statistics")
+    void findById() {
+        JobSummaryDTO summary = reactiveJobRepository.findSummaryById(2L).block();
+        List<JobListingDTO> recent = reactiveJobRepository.findRecentListings(3).collectList().block();
+
+        assertEquals(JobStatus.CLOSED, summary.getStatus());
+        assertEquals(98.0, summary.getLowestBidAmount());
+        assertEquals("Job 4", reactiveJobRepository.findListingById(4L).block().getDescription());
+        assertNull(reactiveJobRepository.findListingById(42L).block());
+        assertEquals(List.of(6L, 5L, 4L), recent.stream().map(JobListingDTO::getJobId).toList());
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.security;
+
+import org.example.exceptions.MarketPlaceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+    PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Hashes and verifies passwords off the calling thread and flags weaker cost factors")
+    void hashesAndVerifies() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(5), 2, 16, 2000);
+
+        String encoded = passwordHashingService.encode("secret");
+
+        assertTrue(passwordHashingService.matches("secret", encoded));
+        assertFalse(passwordHashingService.matches("wrong", encoded));
+        assertFalse(passwordHashingService.upgradeEncoding(encoded));
+        assertTrue(passwordHashingService.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    @DisplayName("Sheds requests once the hashing queue is full")
+    void shedsLoadWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        passwordHashingService = new PasswordHashingService(slowEncoder, 1, 1, 5000);
+
+        // One request runs, one waits in the queue, the third is rejected
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("a"));
+        waitFor(() -> passwordHashingService.getQueueDepth() == 0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("b"));
+        waitFor(() -> passwordHashingService.getQueueDepth() == 1);
+
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> passwordHashingService.encode("c"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+    }
+}
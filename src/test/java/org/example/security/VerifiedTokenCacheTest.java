@@ -0,0 +1,65 @@
+package org.example.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.entities.Actor;
+import org.example.utils.JwtTokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VerifiedTokenCacheTest {
+    JwtTokenUtil jwtTokenUtil;
+    VerifiedTokenCache verifiedTokenCache;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = spy(new JwtTokenUtil());
+        ReflectionTestUtils.setField(jwtTokenUtil, "secretKey", "TestSecretKey");
+        ReflectionTestUtils.setField(jwtTokenUtil, "accessTokenExpiration", 3600000L);
+        jwtTokenUtil.init();
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenUtil, meterRegistry, 1000);
+    }
+
+    private String token(long expirationMs) {
+        ReflectionTestUtils.setField(jwtTokenUtil, "accessTokenExpiration", expirationMs);
+        return jwtTokenUtil.generateAccessToken(Actor.builder().id(7L).username("bidder").build(), List.of("BIDDER"));
+    }
+
+    @Test
+    @DisplayName("Returns the subject of the token and verifies each token only once")
+    void authenticatesSubject() {
+        String token = token(3600000L);
+
+        assertEquals("bidder", verifiedTokenCache.authenticate(token));
+        assertEquals("bidder", verifiedTokenCache.authenticate(token));
+        verify(jwtTokenUtil, times(1)).decodeJWT(anyString());
+        assertEquals(1, verifiedTokenCache.getStats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Rejects tampered and expired tokens without caching them")
+    void rejectsInvalidTokens() {
+        String token = token(3600000L);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "tampered";
+        String expired = token(-1000L);
+
+        assertThrows(JwtException.class, () -> verifiedTokenCache.authenticate(tampered));
+        assertThrows(JwtException.class, () -> verifiedTokenCache.authenticate(expired));
+        assertThrows(JwtException.class, () -> verifiedTokenCache.authenticate(expired));
+        verify(jwtTokenUtil, times(3)).decodeJWT(anyString());
+        assertEquals(3, meterRegistry.timer("marketplace.auth.token.decode", "outcome", "invalid").count());
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.services;
+
+import org.example.cache.JobSummaryCache;
+import org.example.config.BlockingTaskThreads;
+import org.example.dtos.JobSummaryDTO;
+import org.example.enums.JobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ The emitters are never bound to a response: events sent before that are held by the emitter, and sending on a
+ completed emitter fails, which tells whether the feed completed it.
+ **/
+@ExtendWith(MockitoExtension.class)
+class AuctionFeedServiceTest {
+    @Mock
+    JobSummaryCache jobSummaryCache;
+
+    AuctionFeedService auctionFeedService;
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        auctionFeedService.shutdown();
+    }
+
+    private AuctionFeedService feed(BlockingTaskThreads blockingTaskThreads, int bufferSize) {
+        auctionFeedService = new AuctionFeedService(jobSummaryCache, blockingTaskThreads, 1, bufferSize, 60000);
+        return auctionFeedService;
+    }
+
+    // Senders that do not take any event off the buffers until released, like a client that stopped reading
+    private BlockingTaskThreads stalledSenders() {
+        BlockingTaskThreads blockingTaskThreads = mock(BlockingTaskThreads.class);
+        when(blockingTaskThreads.factory(any())).thenReturn(runnable -> new Thread(() -> {
+            try {
+                release.await();
+                runnable.run();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        return blockingTaskThreads;
+    }
+
+    private static JobSummaryDTO summary(Long jobId, JobStatus status) {
+        return new JobSummaryDTO(jobId, 900.0, 1.0, LocalDateTime.now().plusMinutes(10), status);
+    }
+
+    @Test
+    @DisplayName("Coalesces the changes of a job into one update per dispatch")
+    void coalescesChanges() {
+        AuctionFeedService feed = feed(new BlockingTaskThreads(new MockEnvironment()), 16);
+        when(jobSummaryCache.get(1L)).thenReturn(summary(1L, JobStatus.OPEN));
+        feed.subscribe(1L);
+
+        feed.publish(1L);
+        feed.publish(1L);
+        feed.publish(1L);
+        feed.publish(2L);
+        feed.dispatch();
+        feed.dispatch();
+
+        // Once on subscribing, once for the three changes
+        verify(jobSummaryCache, times(2)).get(1L);
+        verify(jobSummaryCache, never()).get(2L);
+        assertEquals(1, feed.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Disconnects a subscriber whose buffer overflows and keeps the others")
+    void dropsSlowSubscriber() {
+        AuctionFeedService feed = feed(stalledSenders(), 2);
+        when(jobSummaryCache.get(1L)).thenReturn(summary(1L, JobStatus.OPEN));
+        when(jobSummaryCache.get(2L)).thenReturn(summary(2L, JobStatus.OPEN));
+        SseEmitter slow = feed.subscribe(1L);
+        SseEmitter idle = feed.subscribe(2L);
+
+        feed.publish(1L);
+        feed.dispatch();
+        assertEquals(2, feed.getSubscriberCount());
+        feed.publish(1L);
+        feed.dispatch();
+
+        assertEquals(1, feed.getSubscriberCount());
+        assertThrows(IllegalStateException.class, () -> slow.send("update"));
+        feed.publish(1L);
+        feed.dispatch();
+        verify(jobSummaryCache, times(3)).get(1L);
+    }
+
+    @Test
+    @DisplayName("Completes the stream once the job is closed")
+    void completesOnClose() throws InterruptedException {
+        AuctionFeedService feed = feed(new BlockingTaskThreads(new MockEnvironment()), 16);
+        when(jobSummaryCache.get(1L)).thenReturn(summary(1L, JobStatus.OPEN), summary(1L, JobStatus.CLOSED));
+        SseEmitter emitter = feed.subscribe(1L);
+
+        feed.publish(1L);
+        feed.dispatch();
+
+        waitFor(() -> feed.getSubscriberCount() == 0);
+        assertEquals(0, feed.getSubscriberCount());
+        assertThrows(IllegalStateException.class, () -> emitter.send("update"));
+    }
+
+    @Test
+    @DisplayName("Completes the stream right after the current state when the job is already closed")
+    void completesClosedJobOnSubscribe() throws InterruptedException {
+        AuctionFeedService feed = feed(new BlockingTaskThreads(new MockEnvironment()), 16);
+        when(jobSummaryCache.get(1L)).thenReturn(summary(1L, JobStatus.CLOSED));
+
+        SseEmitter emitter = feed.subscribe(1L);
+
+        waitFor(() -> feed.getSubscriberCount() == 0);
+        assertEquals(0, feed.getSubscriberCount());
+        assertThrows(IllegalStateException.class, () -> emitter.send("update"));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
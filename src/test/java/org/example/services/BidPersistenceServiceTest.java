@@ -0,0 +1,185 @@
+package org.example.services;
+
+import org.example.entities.Bid;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.BidRepository;
+import org.example.repositories.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BidPersistenceServiceTest {
+    @Mock
+    BidRepository bidRepository;
+    @Mock
+    JobRepository jobRepository;
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    BidPersistenceService bidPersistenceService;
+
+    @AfterEach
+    void tearDown() {
+        if (bidPersistenceService != null) {
+            bidPersistenceService.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsWithResultInline() {
+        doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class)
+                .doInTransaction(mock(TransactionStatus.class))).when(transactionTemplate).execute(any());
+    }
+
+    @Test
+    @DisplayName("Writes queued bids in multi-row batches and folds job aggregates atomically")
+    void flushesInBatches() throws Exception {
+        runTransactionsWithResultInline();
+        when(jobRepository.applyBids(eq(1L), any(), any(), any())).thenReturn(1);
+        bidPersistenceService = new BidPersistenceService(bidRepository, jobRepository, transactionTemplate,
+                10_000, 500, 50, 50, "durable");
+
+        CompletableFuture<Void> lastAck = null;
+        for (int i = 1; i <= 1200; i++) {
+            lastAck = bidPersistenceService.enqueue(1L, 5000.0 - i, 9L, LocalDateTime.now());
+        }
+        bidPersistenceService.flush();
+        lastAck.get(1, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Bid>> batches = ArgumentCaptor.forClass(List.class);
+        verify(bidRepository, atLeastOnce()).insertAll(batches.capture());
+        assertEquals(1200, batches.getAllValues().stream().mapToInt(List::size).sum());
+        assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 500));
+        ArgumentCaptor<Double> counts = ArgumentCaptor.forClass(Double.class);
+        verify(jobRepository, atLeastOnce()).applyBids(eq(1L), any(), counts.capture(), any());
+        assertEquals(1200.0, counts.getAllValues().stream().mapToDouble(Double::doubleValue).sum());
+        verify(jobRepository, atLeastOnce()).applyBids(eq(1L), eq(3800.0), any(), any());
+    }
+
+    @Test
+    @DisplayName("Updates the jobs of a batch in ID order")
+    void updatesJobsInIdOrder() throws Exception {
+        runTransactionsWithResultInline();
+        when(jobRepository.applyBids(any(), any(), any(), any())).thenReturn(1);
+        bidPersistenceService = new BidPersistenceService(bidRepository, jobRepository, transactionTemplate,
+                10, 10, 50, 50, "durable");
+
+        CompletableFuture<Void> lastAck = null;
+        for (long jobId : new long[]{9L, 3L, 7L, 3L, 1L}) {
+            lastAck = bidPersistenceService.enqueue(jobId, 100.0, 9L, LocalDateTime.now());
+        }
+        bidPersistenceService.flush();
+        lastAck.get(1, TimeUnit.SECONDS);
+
+        ArgumentCaptor<Long> jobIds = ArgumentCaptor.forClass(Long.class);
+        verify(jobRepository, atLeastOnce()).applyBids(jobIds.capture(), any(), any(), any());
+        assertEquals(List.of(1L, 3L, 7L, 9L), jobIds.getAllValues());
+    }
+
+    @Test
+    @DisplayName("Runs a queued task after the bids queued before it and before the bids queued after it")
+    void runsTasksBetweenBids() throws Exception {
+        runTransactionsWithResultInline();
+        when(jobRepository.applyBids(eq(1L), any(), any(), any())).thenReturn(1);
+        bidPersistenceService = new BidPersistenceService(bidRepository, jobRepository, transactionTemplate,
+                10, 10, 50, 50, "durable");
+
+        bidPersistenceService.enqueue(1L, 100.0, 9L, LocalDateTime.now());
+        CompletableFuture<Integer> written = bidPersistenceService.afterQueued(() ->
+                mockingDetails(bidRepository).getInvocations().size());
+        bidPersistenceService.enqueue(1L, 90.0, 9L, LocalDateTime.now());
+        bidPersistenceService.flush();
+
+        assertEquals(1, written.get(1, TimeUnit.SECONDS));
+        verify(bidRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Drops bids of auctions that closed before the flush and fails their acknowledgement")
+    void discardsBidsOfClosedJobs() throws Exception {
+        runTransactionsWithResultInline();
+        when(jobRepository.applyBids(eq(1L), any(), any(), any())).thenReturn(1);
+        when(jobRepository.applyBids(eq(2L), any(), any(), any())).thenReturn(0);
+        bidPersistenceService = new BidPersistenceService(bidRepository, jobRepository, transactionTemplate,
+                10, 10, 50, 50, "durable");
+
+        CompletableFuture<Void> open = bidPersistenceService.enqueue(1L, 100.0, 9L, LocalDateTime.now());
+        CompletableFuture<Void> closed = bidPersistenceService.enqueue(2L, 100.0, 9L, LocalDateTime.now());
+        bidPersistenceService.flush();
+
+        open.get(1, TimeUnit.SECONDS);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> closed.get(1, TimeUnit.SECONDS));
+        assertEquals(HttpStatus.BAD_REQUEST, ((MarketPlaceException) exception.getCause()).getStatus());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Bid>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bidRepository).insertAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(1L, inserted.getValue().get(0).getJob().getId());
+    }
+
+    @Test
+    @DisplayName("Completes acknowledgements exceptionally when the batch cannot be written")
+    void failsAcknowledgementAfterRetries() {
+        runTransactionsWithResultInline();
+        when(jobRepository.applyBids(any(), any(), any(), any())).thenReturn(1);
+        doThrow(new IllegalStateException("database down")).when(bidRepository).insertAll(anyList());
+        bidPersistenceService = new BidPersistenceService(bidRepository, jobRepository, transactionTemplate,
+                10, 10, 5, 50, "durable");
+
+        CompletableFuture<Void> ack = bidPersistenceService.enqueue(1L, 100.0, 9L, LocalDateTime.now());
+        bidPersistenceService.flush();
+
+        assertTrue(ack.isCompletedExceptionally());
+        assertThrows(Exception.class, ack::join);
+    }
+
+    @Test
+    @DisplayName("Rejects bids when the queue is full")
+    void rejectsWhenFull() throws Exception {
+        CompletableFuture<Void> blocked = new CompletableFuture<>();
+        doAnswer(invocation -> blocked.get()).when(transactionTemplate).execute(any());
+        bidPersistenceService = new BidPersistenceService(bidRepository, jobRepository, transactionTemplate,
+                1, 1, 1, 10, "memory");
+
+        CompletableFuture<Void> first = bidPersistenceService.enqueue(1L, 100.0, 9L, LocalDateTime.now());
+        assertNotNull(first);
+        // The flusher holds the first bid, the second fills the queue and the third is rejected
+        Thread.sleep(50);
+        bidPersistenceService.enqueue(1L, 90.0, 9L, LocalDateTime.now());
+        assertNull(bidPersistenceService.enqueue(1L, 80.0, 9L, LocalDateTime.now()));
+        blocked.complete(null);
+    }
+}
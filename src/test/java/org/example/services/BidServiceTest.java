@@ -1,11 +1,22 @@
 package org.example.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cache.CacheInvalidationBus;
+import org.example.cache.JobSummaryCache;
+import org.example.cache.UserPrincipalCache;
+import org.example.dtos.BidDTO;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.dtos.ProxyBidDTO;
+import org.example.engine.AuctionEngine;
+import org.example.engine.BidPlacement;
+import org.example.engine.HotJobsLeaderboard;
 import org.example.entities.Actor;
 import org.example.entities.Job;
+import org.example.enums.BidOutcome;
 import org.example.enums.JobStatus;
 import org.example.enums.RoleEnum;
 import org.example.exceptions.MarketPlaceException;
-import org.example.repositories.BidRepository;
 import org.example.repositories.JobRepository;
 import org.example.repositories.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -13,16 +24,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,29 +52,103 @@ class BidServiceTest {
     @InjectMocks
     BidService bidService;
     @Mock
-    BidRepository bidRepository;
-    @Mock
     JobRepository jobRepository;
     @Mock
     UserRepository userRepository;
+    @Mock
+    AuctionEngine auctionEngine;
+    @Mock
+    BidPersistenceService bidPersistenceService;
+    @Mock
+    JobSummaryCache jobSummaryCache;
+    @Mock
+    CacheInvalidationBus cacheInvalidationBus;
+    @Mock
+    AuctionFeedService auctionFeedService;
+
+    @Mock
+    HotJobsLeaderboard hotJobsLeaderboard;
+    @Spy
+    UserPrincipalCache userPrincipalCache = new UserPrincipalCache(null, new SimpleMeterRegistry(), 100, 60000, false);
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @Test
     void placeBidSuccess() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
         Job job = Job.builder()
                 .expireAt(LocalDateTime.now().plusMinutes(10))
                 .lowestBidAmount(3000.0)
                 .status(JobStatus.OPEN)
                 .bidCount(0.0)
                 .build();
-        Actor user = Actor.builder().role(RoleEnum.BIDDER).build();
+        Actor user = Actor.builder().username("bidder").role(RoleEnum.BIDDER).build();
         when(jobRepository.findById(any())).thenReturn(Optional.of(job));
         when(userRepository.findById(any())).thenReturn(Optional.of(user));
+        when(auctionEngine.isAcceptingBids(5L)).thenReturn(true);
+        // A proxy answered the bid
+        when(auctionEngine.placeBid(5L, 2000.0, 5L)).thenReturn(new BidPlacement(BidOutcome.ACCEPTED, 2));
         assertEquals("Bid placed successfully!", bidService.placeBid(5L, 2000.0, 5L));
+        verify(auctionEngine).track(5L, job);
+        verify(hotJobsLeaderboard).recordBids(5L, 2);
+        verify(auctionFeedService).publish(5L);
+        assertEquals(1, meterRegistry.timer("marketplace.bids.place", "engine", "true", "outcome", "accepted").count());
+    }
+
+    @Test
+    @DisplayName(value = "Announces a job change instead of the engine statistics in a cluster")
+    void placeBidClusteredAnnouncesChange() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
+        when(cacheInvalidationBus.isEnabled()).thenReturn(true);
+        when(auctionEngine.isTracking(5L)).thenReturn(true);
+        when(auctionEngine.isAcceptingBids(5L)).thenReturn(true);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(Actor.builder().username("bidder").role(RoleEnum.BIDDER).build()));
+        when(auctionEngine.placeBid(5L, 2000.0, 5L)).thenReturn(new BidPlacement(BidOutcome.ACCEPTED, 1));
+
+        assertEquals("Bid placed successfully!", bidService.placeBid(5L, 2000.0, 5L));
+
+        verify(jobSummaryCache).invalidate(5L);
+        verify(jobSummaryCache, never()).updateBidStats(any(), anyDouble(), anyDouble());
+        verify(cacheInvalidationBus).publishJobChanged(5L);
+    }
+
+    @Test
+    @DisplayName(value = "Does not reload tracked jobs or re-verify known bidders")
+    void placeBidUsesEngineState() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
+        Actor user = Actor.builder().username("bidder").role(RoleEnum.BIDDER).build();
+        when(auctionEngine.isTracking(5L)).thenReturn(true);
+        when(auctionEngine.isAcceptingBids(5L)).thenReturn(true);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(auctionEngine.placeBid(any(), any(Double.class), any())).thenReturn(new BidPlacement(BidOutcome.ACCEPTED, 1));
+
+        bidService.placeBid(5L, 2000.0, 7L);
+        bidService.placeBid(5L, 1900.0, 7L);
+
+        verify(jobRepository, never()).findById(any());
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName(value = "Throws bad request exception when the engine rejects the bid")
+    void placeBidRejectedByEngine() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
+        Actor user = Actor.builder().username("bidder").role(RoleEnum.BIDDER).build();
+        when(auctionEngine.isTracking(5L)).thenReturn(true);
+        when(auctionEngine.isAcceptingBids(5L)).thenReturn(true);
+        when(userRepository.findById(any())).thenReturn(Optional.of(user));
+        when(auctionEngine.placeBid(5L, 2000.0, 5L)).thenReturn(BidPlacement.refused(BidOutcome.EXPIRED));
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.placeBid(5L,
+                2000.0, 5L));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("The auction has expired.", exception.getEndUserMessage());
+        assertEquals(1, meterRegistry.timer("marketplace.bids.place", "engine", "true", "outcome", "rejected").count());
     }
 
     @Test
     @DisplayName(value = "Throws not found exception on invalid job id")
     void placeBidJobNotFound() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
         when(jobRepository.findById(any())).thenReturn(Optional.empty());
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.placeBid(5L,
                 5000.0, 5L));
@@ -65,6 +161,7 @@ class BidServiceTest {
     @Test
     @DisplayName(value = "Throws bad request exception on auction expiry")
     void placeBidAuctionExpiry() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
         Job job = Job.builder().expireAt(LocalDateTime.now().minusMinutes(10)).build();
         when(jobRepository.findById(any())).thenReturn(Optional.of(job));
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.placeBid(5L,
@@ -77,9 +174,11 @@ class BidServiceTest {
     @Test
     @DisplayName(value = "Throws bad request exception on user role other than bidder")
     void placeBidNonBidder() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
         Job job = Job.builder().expireAt(LocalDateTime.now().plusMinutes(10)).status(JobStatus.OPEN).build();
         Actor user = Actor.builder().role(RoleEnum.POSTER).build();
         when(jobRepository.findById(any())).thenReturn(Optional.of(job));
+        when(auctionEngine.isAcceptingBids(any())).thenReturn(true);
         when(userRepository.findById(any())).thenReturn(Optional.of(user));
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.placeBid(5L,
                 5000.0, 5L));
@@ -89,18 +188,55 @@ class BidServiceTest {
 
     }
 
+    @Test
+    @DisplayName(value = "Writes the bid through with a conditional update when the engine is disabled")
+    void placeBidDirectSuccess() {
+        Actor user = Actor.builder().username("bidder").role(RoleEnum.BIDDER).build();
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(bidPersistenceService.writeThrough(eq(5L), eq(2000.0), eq(5L), any())).thenReturn(true);
+        assertEquals("Bid placed successfully!", bidService.placeBid(5L, 2000.0, 5L));
+        verify(jobRepository, never()).findById(any());
+        verify(cacheInvalidationBus).publishJobChanged(5L);
+    }
+
+    @Test
+    @DisplayName(value = "Throws not found exception when the conditional update misses an unknown job")
+    void placeBidDirectJobNotFound() {
+        Actor user = Actor.builder().username("bidder").role(RoleEnum.BIDDER).build();
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(bidPersistenceService.writeThrough(any(), any(Double.class), any(), any())).thenReturn(false);
+        when(jobRepository.existsById(5L)).thenReturn(false);
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.placeBid(5L,
+                2000.0, 5L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Job not found", exception.getEndUserMessage());
+    }
+
+    @Test
+    @DisplayName(value = "Throws bad request exception when the conditional update misses a closed job")
+    void placeBidDirectAuctionExpiry() {
+        Actor user = Actor.builder().username("bidder").role(RoleEnum.BIDDER).build();
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(bidPersistenceService.writeThrough(any(), any(Double.class), any(), any())).thenReturn(false);
+        when(jobRepository.existsById(5L)).thenReturn(true);
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.placeBid(5L,
+                2000.0, 5L));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("The auction has expired.", exception.getEndUserMessage());
+    }
+
     @Test
     @DisplayName(value = "Successfully provides lowest bid amount for job")
     void getLowestBidAmountSuccess() {
-        Job job = Job.builder().lowestBidAmount(5000.0).build();
-        when(jobRepository.findById(any())).thenReturn(Optional.of(job));
+        JobSummaryDTO summary = JobSummaryDTO.builder().lowestBidAmount(5000.0).build();
+        when(jobSummaryCache.get(any())).thenReturn(summary);
         assertEquals(5000.0, bidService.getLowestBidAmount(5L));
     }
 
     @Test
     @DisplayName(value = "Throws not found exception on invalid job id")
     void getLowestBidAmountFailure() {
-        when(jobRepository.findById(any())).thenReturn(Optional.empty());
+        when(jobSummaryCache.get(any())).thenReturn(null);
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.getLowestBidAmount(5L));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Job not found", exception.getEndUserMessage());
@@ -110,15 +246,15 @@ class BidServiceTest {
     @Test
     @DisplayName(value = "Successfully provides count of bids for job")
     void getLowestBidCountSuccess() {
-        Job job = Job.builder().bidCount(5.0).build();
-        when(jobRepository.findById(any())).thenReturn(Optional.of(job));
+        JobSummaryDTO summary = JobSummaryDTO.builder().bidCount(5.0).build();
+        when(jobSummaryCache.get(any())).thenReturn(summary);
         assertEquals(5.0, bidService.getBidCount(5L));
     }
 
     @Test
     @DisplayName(value = "Throws not found exception on invalid job id")
     void getLowestBidCountFailure() {
-        when(jobRepository.findById(any())).thenReturn(Optional.empty());
+        when(jobSummaryCache.get(any())).thenReturn(null);
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.getBidCount(5L));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Job not found", exception.getEndUserMessage());
@@ -129,15 +265,15 @@ class BidServiceTest {
     @DisplayName(value = "Successfully fetches the auction expiration")
     void getAuctionExpirationSuccess() {
         LocalDateTime dateTime = LocalDateTime.of(2024, 7, 26, 5, 25, 30, 0);
-        Job job = Job.builder().expireAt(dateTime).build();
-        when(jobRepository.findById(any())).thenReturn(Optional.of(job));
+        JobSummaryDTO summary = JobSummaryDTO.builder().expireAt(dateTime).build();
+        when(jobSummaryCache.get(any())).thenReturn(summary);
         assertEquals(dateTime, bidService.getAuctionExpiration(5L));
     }
 
     @Test
     @DisplayName(value = "Throws not found exception on invalid job id")
     void getAuctionExpirationFailure() {
-        when(jobRepository.findById(any())).thenReturn(Optional.empty());
+        when(jobSummaryCache.get(any())).thenReturn(null);
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.getAuctionExpiration(5L));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Job not found", exception.getEndUserMessage());
@@ -148,8 +284,8 @@ class BidServiceTest {
     @DisplayName(value = "Successfully fetches the time remaning in auction")
     void getTimeRemainingSuccess() {
         LocalDateTime dateTime = LocalDateTime.of(2024, 7, 26, 5, 25, 30, 0);
-        Job job = Job.builder().expireAt(dateTime).build();
-        when(jobRepository.findById(any())).thenReturn(Optional.of(job));
+        JobSummaryDTO summary = JobSummaryDTO.builder().expireAt(dateTime).build();
+        when(jobSummaryCache.get(any())).thenReturn(summary);
         assertNotNull(bidService.getTimeRemaining(5L));
 
     }
@@ -157,10 +293,106 @@ class BidServiceTest {
     @Test
     @DisplayName(value = "Throws not found exception on invalid job id")
     void getTimeRemainingFailure() {
-        when(jobRepository.findById(any())).thenReturn(Optional.empty());
+        when(jobSummaryCache.get(any())).thenReturn(null);
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> bidService.getAuctionExpiration(5L));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Job not found", exception.getEndUserMessage());
         assertEquals("Job not found", exception.getInternalMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName(value = "Places bulk bids through the engine and reports each result")
+    void placeBidsInEngine() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
+        when(userRepository.findAllById(any())).thenReturn(List.of(
+                Actor.builder().id(7L).username("bidder").role(RoleEnum.BIDDER).build(),
+                Actor.builder().id(8L).role(RoleEnum.POSTER).build()));
+        Job job = Job.builder().id(5L).expireAt(LocalDateTime.now().plusMinutes(10)).status(JobStatus.OPEN).build();
+        when(jobRepository.findAllById(any())).thenReturn(List.of(job));
+        when(auctionEngine.placeBids(any())).thenReturn(List.of(
+                CompletableFuture.completedFuture(new BidPlacement(BidOutcome.ACCEPTED, 3)),
+                CompletableFuture.completedFuture(BidPlacement.refused(BidOutcome.THROTTLED))));
+
+        List<BulkItemResultDTO> results = bidService.placeBids(Arrays.asList(
+                new BidDTO(2000.0, 5L, 7L), new BidDTO(1900.0, 5L, 7L), new BidDTO(100.0, 5L, 8L),
+                new BidDTO(100.0, 5L, 9L), new BidDTO(100.0, 6L, 7L), new BidDTO(null, 5L, 7L)));
+
+        assertEquals(List.of(200, 503, 400, 404, 404, 400), results.stream().map(BulkItemResultDTO::getStatus).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(BulkItemResultDTO::getIndex).toList());
+        verify(userRepository, never()).findById(any());
+        verify(auctionEngine).track(5L, job);
+        verify(auctionEngine).placeBids(List.of(new BidDTO(2000.0, 5L, 7L), new BidDTO(1900.0, 5L, 7L)));
+        verify(hotJobsLeaderboard, times(1)).recordBids(5L, 3);
+        verify(auctionFeedService, times(1)).publish(5L);
+    }
+
+    @Test
+    @DisplayName(value = "Writes bulk bids in one transaction when the engine is disabled")
+    void placeBidsDirect() {
+        when(userRepository.findAllById(any())).thenReturn(List.of(Actor.builder().id(7L).username("bidder").role(RoleEnum.BIDDER).build()));
+        when(bidPersistenceService.writeThroughAll(any(), any())).thenReturn(Set.of(6L, 8L));
+        when(jobRepository.findAllById(any())).thenReturn(List.of(Job.builder().id(6L).build()));
+
+        List<BulkItemResultDTO> results = bidService.placeBids(List.of(
+                new BidDTO(2000.0, 5L, 7L), new BidDTO(1900.0, 5L, 7L), new BidDTO(100.0, 6L, 7L),
+                new BidDTO(100.0, 8L, 7L)));
+
+        assertEquals(List.of(200, 200, 400, 404), results.stream().map(BulkItemResultDTO::getStatus).toList());
+        verify(bidPersistenceService, times(1)).writeThroughAll(any(), any());
+        verify(cacheInvalidationBus, times(1)).publishJobChanged(5L);
+        verify(hotJobsLeaderboard, times(2)).recordBids(5L, 1);
+        verify(cacheInvalidationBus, times(2)).publishBids(5L, 1);
+    }
+
+    @Test
+    @DisplayName(value = "Writes bulk bids to the rows in a cluster and refreshes the engine")
+    void placeBidsClustered() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
+        when(cacheInvalidationBus.isEnabled()).thenReturn(true);
+        when(userRepository.findAllById(any())).thenReturn(List.of(Actor.builder().id(7L).username("bidder").role(RoleEnum.BIDDER).build()));
+        when(bidPersistenceService.writeThroughAll(any(), any())).thenReturn(Set.of());
+
+        List<BulkItemResultDTO> results = bidService.placeBids(List.of(new BidDTO(2000.0, 5L, 7L)));
+
+        assertEquals(List.of(200), results.stream().map(BulkItemResultDTO::getStatus).toList());
+        verify(auctionEngine, never()).placeBids(any());
+        verify(auctionEngine).refresh(5L);
+        verify(cacheInvalidationBus).publishJobChanged(5L);
+    }
+
+    @Test
+    @DisplayName(value = "Rejects empty and oversized bulk requests")
+    void placeBidsRejectsInvalidSize() {
+        assertThrows(MarketPlaceException.class, () -> bidService.placeBids(List.of()));
+        List<BidDTO> tooMany = Collections.nCopies(1001, new BidDTO(1.0, 1L, 1L));
+        assertThrows(MarketPlaceException.class, () -> bidService.placeBids(tooMany));
+    }
+
+    @Test
+    @DisplayName(value = "Registers proxy bids with the auction engine")
+    void registerProxyBidSuccess() {
+        when(auctionEngine.isEnabled()).thenReturn(true);
+        when(auctionEngine.isTracking(5L)).thenReturn(true);
+        when(auctionEngine.isAcceptingBids(5L)).thenReturn(true);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(Actor.builder().username("bidder").role(RoleEnum.BIDDER).build()));
+        when(auctionEngine.registerProxy(5L, 7L, 2000.0, 1500.0, 50.0)).thenReturn(new BidPlacement(BidOutcome.ACCEPTED, 2));
+
+        assertEquals("Proxy bid registered successfully!",
+                bidService.registerProxyBid(new ProxyBidDTO(5L, 7L, 2000.0, 1500.0, 50.0)));
+        verify(hotJobsLeaderboard).recordBids(5L, 2);
+        verify(auctionFeedService).publish(5L);
+    }
+
+    @Test
+    @DisplayName(value = "Rejects invalid proxy bids and proxy bids without the auction engine")
+    void registerProxyBidRejected() {
+        MarketPlaceException invalid = assertThrows(MarketPlaceException.class,
+                () -> bidService.registerProxyBid(new ProxyBidDTO(5L, 7L, 1000.0, 1500.0, 50.0)));
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatus());
+
+        MarketPlaceException disabled = assertThrows(MarketPlaceException.class,
+                () -> bidService.registerProxyBid(new ProxyBidDTO(5L, 7L, 2000.0, 1500.0, 50.0)));
+        assertEquals("Proxy bidding is not available", disabled.getEndUserMessage());
+        verify(auctionEngine, never()).registerProxy(any(), any(), anyDouble(), anyDouble(), anyDouble());
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cache.CacheInvalidationBus;
+import org.example.cache.JobSummaryCache;
+import org.example.config.BlockingTaskThreads;
+import org.example.dtos.JobSummaryDTO;
+import org.example.engine.AuctionEngine;
+import org.example.engine.HotJobsLeaderboard;
+import org.example.enums.JobStatus;
+import org.example.repositories.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobClosingEngineTest {
+    @Mock
+    JobRepository jobRepository;
+    @Mock
+    AuctionEngine auctionEngine;
+    @Mock
+    BidPersistenceService bidPersistenceService;
+    @Mock
+    JobSummaryCache jobSummaryCache;
+    @Mock
+    AuctionFeedService auctionFeedService;
+    @Mock
+    HotJobsLeaderboard hotJobsLeaderboard;
+    @Mock
+    CacheInvalidationBus cacheInvalidationBus;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @Mock
+    AuctionCloseScheduler auctionCloseScheduler;
+
+    JobClosingEngine jobClosingEngine;
+
+    @AfterEach
+    void tearDown() {
+        jobClosingEngine.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsWithResultInline() {
+        doAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class)
+                .doInTransaction(mock(TransactionStatus.class))).when(transactionTemplate).execute(any());
+    }
+
+    @Test
+    @DisplayName("Closes expired jobs in chunks, one transaction and one statement per chunk")
+    @SuppressWarnings("unchecked")
+    void closesInChunks() {
+        runTransactionsWithResultInline();
+        LocalDateTime expiredAt = LocalDateTime.now().minusMinutes(1);
+        List<JobSummaryDTO> expired = LongStream.rangeClosed(1, 450)
+                .mapToObj(id -> JobSummaryDTO.builder().jobId(id).expireAt(expiredAt).status(JobStatus.OPEN).build())
+                .toList();
+        when(jobRepository.findExpiredSummaries(eq(JobStatus.OPEN), any(), eq(Limit.of(200)))).thenReturn(expired.subList(0, 200));
+        when(jobRepository.findExpiredSummariesAfter(eq(JobStatus.OPEN), any(), eq(expiredAt), eq(200L), eq(Limit.of(200))))
+                .thenReturn(expired.subList(200, 400));
+        when(jobRepository.findExpiredSummariesAfter(eq(JobStatus.OPEN), any(), eq(expiredAt), eq(400L), eq(Limit.of(200))))
+                .thenReturn(expired.subList(400, 450));
+        when(jobRepository.claimOpenJobs(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0, List.class));
+        jobClosingEngine = new JobClosingEngine(jobRepository, auctionEngine, bidPersistenceService, jobSummaryCache,
+                auctionFeedService, hotJobsLeaderboard, cacheInvalidationBus, transactionTemplate,
+                new BlockingTaskThreads(new MockEnvironment()), auctionCloseScheduler, new SimpleMeterRegistry(), 200, 2, false, 2000, 500);
+
+        JobClosingEngine.SweepStats stats = jobClosingEngine.closeExpiredJobs();
+
+        assertEquals(450, stats.expired());
+        assertEquals(450, stats.closed());
+        assertEquals(0, stats.failedChunks());
+        assertEquals(stats, jobClosingEngine.getLastSweep());
+        ArgumentCaptor<List<Long>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository, times(3)).closeJobs(chunks.capture(), any());
+        assertEquals(List.of(200, 200, 50), chunks.getAllValues().stream().map(List::size).sorted((a, b) -> b - a).toList());
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(bidPersistenceService, times(3)).flush();
+        verify(auctionEngine).close(450L);
+        verify(jobSummaryCache).invalidate(1L);
+        verify(auctionFeedService).publish(1L);
+        verify(hotJobsLeaderboard).remove(1L);
+        verify(cacheInvalidationBus).publishJobClosed(1L);
+    }
+
+    @Test
+    @DisplayName("Counts failed chunks and keeps closing the others")
+    void reportsFailedChunks() {
+        LocalDateTime expiredAt = LocalDateTime.now().minusMinutes(1);
+        List<JobSummaryDTO> expired = LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> JobSummaryDTO.builder().jobId(id).expireAt(expiredAt).status(JobStatus.OPEN).build())
+                .toList();
+        when(jobRepository.findExpiredSummaries(eq(JobStatus.OPEN), any(), eq(Limit.of(1)))).thenReturn(expired.subList(0, 1));
+        when(jobRepository.findExpiredSummariesAfter(eq(JobStatus.OPEN), any(), eq(expiredAt), any(), eq(Limit.of(1))))
+                .thenAnswer(invocation -> expired.stream()
+                        .filter(job -> job.getJobId() > invocation.getArgument(3, Long.class))
+                        .limit(1)
+                        .toList());
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenReturn(List.of(2L), List.of(3L));
+        jobClosingEngine = new JobClosingEngine(jobRepository, auctionEngine, bidPersistenceService, jobSummaryCache,
+                auctionFeedService, hotJobsLeaderboard, cacheInvalidationBus, transactionTemplate,
+                new BlockingTaskThreads(new MockEnvironment()), auctionCloseScheduler, new SimpleMeterRegistry(), 1, 1, false, 2000, 500);
+
+        JobClosingEngine.SweepStats stats = jobClosingEngine.closeExpiredJobs();
+
+        assertEquals(3, stats.expired());
+        assertEquals(2, stats.closed());
+        assertEquals(1, stats.failedChunks());
+    }
+
+    @Test
+    @DisplayName("Distributed sweeps claim batches of expired jobs until none are left unclaimed")
+    void claimsExpiredJobsInDistributedMode() {
+        runTransactionsWithResultInline();
+        when(jobRepository.findOldestExpiry(eq(JobStatus.OPEN), any()))
+                .thenReturn(Optional.of(LocalDateTime.now().minusMinutes(1)));
+        when(jobRepository.claimExpiredJobs(any(), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(jobRepository.closeJobs(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+        jobClosingEngine = new JobClosingEngine(jobRepository, auctionEngine, bidPersistenceService, jobSummaryCache,
+                auctionFeedService, hotJobsLeaderboard, cacheInvalidationBus, transactionTemplate,
+                new BlockingTaskThreads(new MockEnvironment()), auctionCloseScheduler, new SimpleMeterRegistry(), 2, 1, true, 2000, 500);
+
+        JobClosingEngine.SweepStats stats = jobClosingEngine.closeExpiredJobs();
+
+        assertEquals(3, stats.expired());
+        assertEquals(3, stats.closed());
+        assertTrue(stats.maxLag().toSeconds() >= 59);
+        verify(jobRepository, never()).findExpiredSummaries(any(), any(), any());
+        verify(bidPersistenceService).flush();
+        verify(jobRepository).closeJobs(eq(List.of(1L, 2L)), any());
+        verify(jobRepository).closeJobs(eq(List.of(3L)), any());
+        verify(auctionEngine).close(3L);
+        verify(cacheInvalidationBus).publishJobClosed(3L);
+    }
+
+    @Test
+    @DisplayName("Chunks only announce the jobs they closed and schedule the open ones they could not claim again")
+    void closeChunkRetriesJobsItCouldNotClaim() {
+        runTransactionsWithResultInline();
+        when(jobRepository.claimOpenJobs(eq(List.of(1L, 2L, 3L)), any())).thenReturn(List.of(2L));
+        when(jobRepository.findIdsByStatus(List.of(1L, 3L), JobStatus.OPEN)).thenReturn(List.of(3L));
+        jobClosingEngine = new JobClosingEngine(jobRepository, auctionEngine, bidPersistenceService, jobSummaryCache,
+                auctionFeedService, hotJobsLeaderboard, cacheInvalidationBus, transactionTemplate,
+                new BlockingTaskThreads(new MockEnvironment()), auctionCloseScheduler, new SimpleMeterRegistry(), 2, 1, true, 2000, 500);
+
+        assertEquals(1, jobClosingEngine.closeChunk(List.of(1L, 2L, 3L)));
+        ArgumentCaptor<LocalDateTime> expiredBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).claimOpenJobs(eq(List.of(1L, 2L, 3L)), expiredBefore.capture());
+        verify(jobRepository).closeJobs(List.of(2L), expiredBefore.getValue());
+        verify(cacheInvalidationBus).publishJobClosed(2L);
+        verify(cacheInvalidationBus, never()).publishJobClosed(3L);
+        verify(hotJobsLeaderboard, never()).remove(1L);
+        verify(auctionCloseScheduler).register(eq(3L), any());
+        verify(auctionCloseScheduler, never()).register(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Distributed chunks only claim jobs whose grace period has passed")
+    void closeChunkWaitsForGracePeriod() {
+        runTransactionsWithResultInline();
+        jobClosingEngine = new JobClosingEngine(jobRepository, auctionEngine, bidPersistenceService, jobSummaryCache,
+                auctionFeedService, hotJobsLeaderboard, cacheInvalidationBus, transactionTemplate,
+                new BlockingTaskThreads(new MockEnvironment()), auctionCloseScheduler, new SimpleMeterRegistry(), 2, 1, true, 60000, 500);
+        ArgumentCaptor<LocalDateTime> expiredBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(jobRepository.claimOpenJobs(eq(List.of(1L)), expiredBefore.capture())).thenReturn(List.of());
+
+        assertEquals(0, jobClosingEngine.closeChunk(List.of(1L)));
+        assertTrue(expiredBefore.getValue().isBefore(LocalDateTime.now().minusSeconds(59)));
+        verify(jobRepository, never()).closeJobs(anyList(), any());
+    }
+}
@@ -1,12 +1,20 @@
 package org.example.services;
 
+import org.example.cache.CacheInvalidationBus;
+import org.example.dtos.BulkItemResultDTO;
 import org.example.dtos.JobDTO;
+import org.example.dtos.JobListingDTO;
+import org.example.dtos.JobPageDTO;
+import org.example.engine.HotJobsLeaderboard;
 import org.example.entities.Actor;
 import org.example.entities.Job;
+import org.example.enums.JobSort;
+import org.example.enums.JobStatus;
 import org.example.enums.RoleEnum;
 import org.example.exceptions.MarketPlaceException;
 import org.example.repositories.JobRepository;
 import org.example.repositories.UserRepository;
+import org.example.utils.PageCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +24,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +50,15 @@ class JobServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AuctionCloseScheduler auctionCloseScheduler;
+
+    @Mock
+    private HotJobsLeaderboard hotJobsLeaderboard;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Test
     @DisplayName("Should successfully post a job")
     void postJobSuccess() {
@@ -59,6 +80,7 @@ class JobServiceTest {
 
         assertEquals("Job posted successfully!", response);
         verify(jobRepository, times(1)).save(any(Job.class));
+        verify(auctionCloseScheduler).register(any(), any(LocalDateTime.class));
     }
 
     @Test
@@ -97,15 +119,15 @@ class JobServiceTest {
     @Test
     @DisplayName("Should successfully fetch a job by ID")
     void getJobSuccess() {
-        Job job = Job.builder()
-                .id(1L)
+        JobListingDTO listing = JobListingDTO.builder()
+                .jobId(1L)
                 .description("Sample Job")
                 .requirements("Sample Requirements")
                 .expireAt(LocalDateTime.now().plusDays(1))
-                .poster(Actor.builder().id(1L).build())
+                .posterId(1L)
                 .build();
 
-        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.findListingById(1L)).thenReturn(Optional.of(listing));
 
         JobDTO jobDTO = jobService.getJob(1L);
 
@@ -117,10 +139,115 @@ class JobServiceTest {
     @Test
     @DisplayName("Should throw exception if job not found")
     void getJobNotFound() {
-        when(jobRepository.findById(1L)).thenReturn(Optional.empty());
+        when(jobRepository.findListingById(1L)).thenReturn(Optional.empty());
 
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> jobService.getJob(1L));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Job not found", exception.getEndUserMessage());
     }
+
+    @Test
+    @DisplayName("Should return a page of jobs with a cursor continuing after its last job")
+    void getJobsReturnsNextCursor() {
+        LocalDateTime postedAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        List<JobListingDTO> jobs = List.of(
+                JobListingDTO.builder().jobId(3L).postedAt(postedAt).posterId(1L).build(),
+                JobListingDTO.builder().jobId(2L).postedAt(postedAt).posterId(1L).build(),
+                JobListingDTO.builder().jobId(1L).postedAt(postedAt.minusHours(1)).posterId(1L).build());
+        when(jobRepository.findPage(JobSort.RECENT, null, null, null, null, null, null, 3)).thenReturn(jobs);
+        when(jobRepository.findPage(JobSort.RECENT, null, null, null, null, postedAt, 2L, 3)).thenReturn(List.of(jobs.get(2)));
+
+        JobPageDTO firstPage = jobService.getJobs(JobSort.RECENT, null, null, null, null, null, 2);
+        JobPageDTO secondPage = jobService.getJobs(JobSort.RECENT, null, null, null, null, firstPage.getNextCursor(), 2);
+
+        assertEquals(List.of(3L, 2L), firstPage.getJobs().stream().map(JobDTO::getJobId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(1L), secondPage.getJobs().stream().map(JobDTO::getJobId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should page open jobs by bid count on the leaderboard and skip jobs closed meanwhile")
+    void getJobsPagesOpenJobsByBidCountOnLeaderboard() {
+        when(hotJobsLeaderboard.pageByBidCount(null, null, 3)).thenReturn(List.of(
+                new HotJobsLeaderboard.Entry(5L, 9), new HotJobsLeaderboard.Entry(4L, 7), new HotJobsLeaderboard.Entry(3L, 7)));
+        when(hotJobsLeaderboard.pageByBidCount(7.0, 3L, 1)).thenReturn(List.of(new HotJobsLeaderboard.Entry(2L, 1)));
+        when(jobRepository.findListingsByIdIn(List.of(5L, 4L, 3L))).thenReturn(List.of(
+                JobListingDTO.builder().jobId(3L).bidCount(6.0).build(),
+                JobListingDTO.builder().jobId(5L).bidCount(9.0).build()));
+        when(jobRepository.findListingsByIdIn(List.of(2L))).thenReturn(List.of(JobListingDTO.builder().jobId(2L).build()));
+
+        JobPageDTO page = jobService.getJobs(JobSort.BIDS, JobStatus.OPEN, null, null, null, null, 2);
+
+        assertEquals(List.of(5L, 3L), page.getJobs().stream().map(JobDTO::getJobId).toList());
+        assertEquals(new PageCursor(JobSort.BIDS, "7.0", 3L).encode(), page.getNextCursor());
+        verify(jobRepository, never()).findPage(any(), any(), any(), any(), any(), any(), any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for another sort order")
+    void getJobsRejectsForeignCursor() {
+        String cursor = new PageCursor(JobSort.BIDS, "4.0", 7L).encode();
+
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class,
+                () -> jobService.getJobs(JobSort.RECENT, null, null, null, null, cursor, 20));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should translate search pages into offsets")
+    void searchJobsPagesByOffset() {
+        JobListingDTO listing = JobListingDTO.builder().jobId(9L).description("Java developer").build();
+        when(jobRepository.search("java", JobStatus.OPEN, 40, 20)).thenReturn(List.of(listing));
+
+        List<JobDTO> jobs = jobService.searchJobs("java", JobStatus.OPEN, 2, 20);
+
+        assertEquals(List.of(9L), jobs.stream().map(JobDTO::getJobId).toList());
+    }
+
+    @Test
+    @DisplayName("Should clamp deep search pages instead of overflowing the offset")
+    void searchJobsClampsPage() {
+        when(jobRepository.search("java", null, 10_000 * 100, 100)).thenReturn(List.of());
+
+        assertEquals(List.of(), jobService.searchJobs("java", null, Integer.MAX_VALUE, 100));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty search query")
+    void searchJobsRejectsBlankQuery() {
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class,
+                () -> jobService.searchJobs(" ", null, 0, 20));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should post bulk jobs with one poster lookup and one save")
+    void postJobsSuccess() {
+        when(userRepository.findAllById(any())).thenReturn(List.of(
+                Actor.builder().id(1L).role(RoleEnum.POSTER).build(),
+                Actor.builder().id(2L).role(RoleEnum.BIDDER).build()));
+        when(jobRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Job> jobs = invocation.getArgument(0);
+            for (int i = 0; i < jobs.size(); i++) {
+                jobs.get(i).setId(100L + i);
+            }
+            return jobs;
+        });
+        LocalDateTime expireAt = LocalDateTime.now().plusDays(1);
+
+        List<BulkItemResultDTO> results = jobService.postJobs(List.of(
+                JobDTO.builder().description("A").posterId(1L).expireAt(expireAt).build(),
+                JobDTO.builder().description("B").posterId(2L).expireAt(expireAt).build(),
+                JobDTO.builder().description("C").posterId(3L).expireAt(expireAt).build(),
+                JobDTO.builder().description("D").posterId(1L).expireAt(expireAt).build()));
+
+        assertEquals(List.of(200, 400, 404, 200), results.stream().map(BulkItemResultDTO::getStatus).toList());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals(101L, results.get(3).getId());
+        verify(userRepository, never()).findById(any());
+        verify(jobRepository, times(1)).saveAll(anyList());
+        verify(auctionCloseScheduler).register(101L, expireAt);
+        verify(cacheInvalidationBus).publishJobPosted(101L);
+    }
 }
@@ -0,0 +1,86 @@
+package org.example.services;
+
+import org.example.cache.JobSummaryCache;
+import org.example.dtos.BidDTO;
+import org.example.dtos.BulkItemResultDTO;
+import org.example.dtos.JobSummaryDTO;
+import org.example.dtos.ProxyBidDTO;
+import org.example.enums.JobStatus;
+import org.example.exceptions.MarketPlaceException;
+import org.example.repositories.ReactiveJobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBidServiceTest {
+    @InjectMocks
+    ReactiveBidService reactiveBidService;
+    @Mock
+    ReactiveJobRepository reactiveJobRepository;
+    @Mock
+    JobSummaryCache jobSummaryCache;
+    @Mock
+    BidService bidService;
+
+    JobSummaryDTO summary = new JobSummaryDTO(1L, 40.0, 3.0, LocalDateTime.now().plusHours(1), JobStatus.OPEN);
+
+    @Test
+    @DisplayName("Should answer from the cache without querying the database")
+    void getLowestBidAmountFromCache() {
+        when(jobSummaryCache.getIfPresent(1L)).thenReturn(summary);
+
+        assertEquals(40.0, reactiveBidService.getLowestBidAmount(1L).block());
+        verify(reactiveJobRepository, never()).findSummaryById(any());
+    }
+
+    @Test
+    @DisplayName("Should load a cache miss over R2DBC and cache it")
+    void getBidCountLoadsMiss() {
+        when(reactiveJobRepository.findSummaryById(1L)).thenReturn(Mono.just(summary));
+        when(jobSummaryCache.put(summary)).thenReturn(summary);
+
+        assertEquals(3.0, reactiveBidService.getBidCount(1L).block());
+        verify(jobSummaryCache).put(summary);
+    }
+
+    @Test
+    @DisplayName("Should fail with NOT_FOUND for an unknown job")
+    void getExpirationOfUnknownJob() {
+        when(reactiveJobRepository.findSummaryById(9L)).thenReturn(Mono.empty());
+
+        Mono<LocalDateTime> expiration = reactiveBidService.getAuctionExpiration(9L);
+        MarketPlaceException exception = assertThrows(MarketPlaceException.class, expiration::block);
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should place bulk and proxy bids through the blocking service")
+    void delegatesBulkAndProxyBids() {
+        List<BidDTO> bids = List.of(new BidDTO(10.0, 1L, 2L));
+        BulkItemResultDTO result = BulkItemResultDTO.builder().index(0).status(200).build();
+        ProxyBidDTO proxyBid = new ProxyBidDTO(1L, 2L, 30.0, 20.0, 1.0);
+        when(bidService.placeBids(bids)).thenReturn(List.of(result));
+        when(bidService.registerProxyBid(proxyBid)).thenReturn("registered");
+        when(bidService.cancelProxyBid(1L, 2L)).thenReturn("cancelled");
+
+        assertEquals(List.of(result), reactiveBidService.placeBids(bids).block());
+        assertEquals("registered", reactiveBidService.registerProxyBid(proxyBid).block());
+        assertEquals("cancelled", reactiveBidService.cancelProxyBid(1L, 2L).block());
+    }
+}
@@ -1,11 +1,14 @@
 package org.example.services;
 
+import org.example.cache.CacheInvalidationBus;
+import org.example.cache.UserPrincipalCache;
 import org.example.dtos.LoginDTO;
 import org.example.dtos.UserRegistrationDTO;
 import org.example.entities.Actor;
 import org.example.enums.RoleEnum;
 import org.example.exceptions.MarketPlaceException;
 import org.example.repositories.UserRepository;
+import org.example.security.PasswordHashingService;
 import org.example.utils.JwtTokenUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,20 +38,28 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Test
     @DisplayName("Successfully registers a new user")
     void registerNewUserSuccess() {
         UserRegistrationDTO dto = new UserRegistrationDTO("user1", "email@example.com", "password", RoleEnum.POSTER);
         when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
         when(userRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPassword");
+        when(passwordHashingService.encode(dto.getPassword())).thenReturn("encodedPassword");
 
         assertDoesNotThrow(() -> userService.registerNewUser(dto));
+        verify(userPrincipalCache).invalidate("user1");
+        verify(cacheInvalidationBus).publishUserChanged("user1");
     }
 
     @Test
@@ -79,7 +90,7 @@ class UserServiceTest {
         LoginDTO loginDTO = new LoginDTO("user", "password");
         Actor actor = Actor.builder().username("user").password("encodedPassword").role(RoleEnum.BIDDER).build();
         when(userRepository.findByUsername(any())).thenReturn(Optional.of(actor));
-        when(passwordEncoder.matches(any(), any())).thenReturn(true);
+        when(passwordHashingService.matches(any(), any())).thenReturn(true);
         when(jwtTokenUtil.generateAccessToken(any(), any())).thenReturn("mockToken");
 
         Map<String, Object> response = userService.loginUser(loginDTO);
@@ -105,10 +116,28 @@ class UserServiceTest {
         LoginDTO loginDTO = new LoginDTO("user", "password");
         Actor actor = Actor.builder().username("user").password("encodedPassword").build();
         when(userRepository.findByUsername(any())).thenReturn(Optional.of(actor));
-        when(passwordEncoder.matches(any(), any())).thenReturn(false);
+        when(passwordHashingService.matches(any(), any())).thenReturn(false);
 
         MarketPlaceException exception = assertThrows(MarketPlaceException.class, () -> userService.loginUser(loginDTO));
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals("Invalid password!", exception.getEndUserMessage());
     }
+
+    @Test
+    @DisplayName("Rehashes the password on login when the cost factor was raised")
+    void loginUserRehashesOutdatedPassword() {
+        LoginDTO loginDTO = new LoginDTO("user", "password");
+        Actor actor = Actor.builder().username("user").password("weakHash").role(RoleEnum.BIDDER).build();
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(actor));
+        when(passwordHashingService.matches("password", "weakHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("weakHash")).thenReturn(true);
+        when(passwordHashingService.encode("password")).thenReturn("strongHash");
+        when(jwtTokenUtil.generateAccessToken(any(), any())).thenReturn("mockToken");
+
+        userService.loginUser(loginDTO);
+
+        assertEquals("strongHash", actor.getPassword());
+        verify(userRepository).save(actor);
+        verify(userPrincipalCache).invalidate("user");
+    }
 }